@@ -0,0 +1,78 @@
+package com.zestindia.products.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the body of {@code GET /api/v1/products} with an {@link ObjectMapper} configured
+ * the way Spring Boot configures the one used by the MVC message converters, with and without
+ * the Blackbird module the application registers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectWriter writer;
+    private ApiResponse<Page<ProductResponse>> response;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            products.add(ProductResponse.builder()
+                    .id(id)
+                    .productName("Product " + id)
+                    .createdBy("alice")
+                    .createdOn(now)
+                    .modifiedBy("alice")
+                    .modifiedOn(now)
+                    .itemCount((int) (id % 7))
+                    .build());
+        }
+        response = ApiResponse.success(new PageImpl<>(products, PageRequest.of(0, pageSize), 10_000L));
+    }
+
+    @Benchmark
+    public byte[] serializeProductPage() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
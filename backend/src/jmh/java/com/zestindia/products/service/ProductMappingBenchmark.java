@@ -0,0 +1,57 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.entity.Item;
+import com.zestindia.products.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+    private ProductServiceImpl productService;
+    private Product product;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        productService = new ProductServiceImpl(null, null, null, null, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        product = Product.builder()
+                .id(42L)
+                .productName("Wireless Keyboard")
+                .createdBy("alice")
+                .createdOn(now)
+                .modifiedBy("alice")
+                .modifiedOn(now)
+                .build();
+        item = Item.builder().id(7L).product(product).quantity(3).build();
+    }
+
+    @Benchmark
+    public ProductResponse mapToProductResponse() {
+        return productService.mapToProductResponse(product, 5L);
+    }
+
+    @Benchmark
+    public ItemResponse mapToItemResponse() {
+        return productService.mapToItemResponse(item);
+    }
+}
@@ -0,0 +1,82 @@
+package com.zestindia.products.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * The requests in the traffic mix, each with its default share of the total rate. Product
+ * ids are drawn uniformly from the seeded catalog.
+ */
+enum Endpoint {
+
+    LIST_PRODUCTS(25, target -> target.get("/api/v1/products?page=" + random(5) + "&size=10")),
+    GET_PRODUCT(25, target -> target.get("/api/v1/products/" + target.randomProductId())),
+    GET_ITEMS(15, target -> target.get("/api/v1/products/" + target.randomProductId() + "/items?size=10")),
+    SEARCH(10, target -> target.get("/api/v1/products?search=load-" + random(100))),
+    TOP_PRODUCTS(5, target -> target.get("/api/v1/products/top?by=quantity&n=10")),
+    CREATE_PRODUCT(5, target -> target.post("/api/v1/products",
+            "{\"productName\":\"load-" + System.nanoTime() + "\"}")),
+    ADD_ITEM(10, target -> target.post("/api/v1/products/" + target.randomProductId() + "/items",
+            "{\"quantity\":" + (1 + random(100)) + "}")),
+    LOGIN(5, target -> target.post("/api/v1/auth/login", target.loginBody()));
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final int defaultWeight;
+    private final Function<Target, HttpRequest> request;
+
+    Endpoint(int defaultWeight, Function<Target, HttpRequest> request) {
+        this.defaultWeight = defaultWeight;
+        this.request = request;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    HttpRequest request(Target target) {
+        return request.apply(target);
+    }
+
+    String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    static Endpoint fromLabel(String label) {
+        return valueOf(label.trim().toUpperCase().replace('-', '_'));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * The running application plus the seeded state that requests are built from.
+     */
+    record Target(URI baseUri, String accessToken, String loginBody, long[] productIds) {
+
+        HttpRequest get(String path) {
+            return authorized(path).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return authorized(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+
+        long randomProductId() {
+            return productIds[random(productIds.length)];
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + accessToken);
+        }
+    }
+}
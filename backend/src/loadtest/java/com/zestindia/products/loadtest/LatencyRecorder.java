@@ -0,0 +1,53 @@
+package com.zestindia.products.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint histograms in microseconds. {@code response} time is measured from when the
+ * request was scheduled to be sent, so a stalled server is charged for every request that
+ * queued up behind it (no coordinated omission); {@code service} time is measured from when
+ * it was actually sent and is kept only for comparison.
+ */
+final class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    void record(Endpoint endpoint, long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+        Stats s = stats.get(endpoint);
+        s.response.recordValue(toMicros(completedNanos - intendedNanos));
+        s.service.recordValue(toMicros(completedNanos - sentNanos));
+        if (!success) {
+            s.errors.incrementAndGet();
+        }
+    }
+
+    Stats stats(Endpoint endpoint) {
+        return stats.get(endpoint);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    static final class Stats {
+
+        final Histogram response = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Histogram service = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final AtomicLong errors = new AtomicLong();
+    }
+}
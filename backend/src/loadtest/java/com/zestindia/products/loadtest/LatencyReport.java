@@ -0,0 +1,96 @@
+package com.zestindia.products.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Writes one run's results to {@code dir}:
+ * <ul>
+ *   <li>{@code summary.csv} - requests, errors, throughput and response/service percentiles
+ *       in milliseconds per endpoint, plus an {@code all} row</li>
+ *   <li>{@code <endpoint>.hgrm} - the full response-time percentile distribution, loadable
+ *       in HdrHistogram's plotter to overlay runs</li>
+ *   <li>{@code histograms.hlog} - every response histogram tagged by endpoint, for
+ *       HistogramLogProcessor and similar tools</li>
+ * </ul>
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String HEADER = "endpoint,requests,errors,throughput_rps,"
+            + "p50_ms,p99_ms,p999_ms,max_ms,service_p50_ms,service_p99_ms,service_p999_ms";
+
+    private LatencyReport() {
+    }
+
+    static void write(LatencyRecorder recorder, Duration measured, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Histogram allResponse = new Histogram(LatencyRecorder.HIGHEST_TRACKABLE_MICROS, LatencyRecorder.SIGNIFICANT_DIGITS);
+        Histogram allService = new Histogram(LatencyRecorder.HIGHEST_TRACKABLE_MICROS, LatencyRecorder.SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        long startMillis = System.currentTimeMillis() - measured.toMillis();
+        try (PrintStream log = new PrintStream(Files.newOutputStream(dir.resolve("histograms.hlog")), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(log);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(startMillis);
+            logWriter.outputLegend();
+
+            for (Endpoint endpoint : Endpoint.values()) {
+                LatencyRecorder.Stats stats = recorder.stats(endpoint);
+                if (stats.response.getTotalCount() == 0) {
+                    continue;
+                }
+                long errors = stats.errors.get();
+                row(csv, endpoint.label(), stats.response, stats.service, errors, measured);
+                allResponse.add(stats.response);
+                allService.add(stats.service);
+                allErrors += errors;
+
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve(endpoint.label() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    stats.response.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+                Histogram tagged = stats.response.copy();
+                tagged.setTag(endpoint.label());
+                logWriter.outputIntervalHistogram(0.0, measured.toMillis() / MICROS_PER_MILLI, tagged, MICROS_PER_MILLI);
+            }
+        }
+        row(csv, "all", allResponse, allService, allErrors, measured);
+
+        Files.writeString(dir.resolve("summary.csv"), csv, StandardCharsets.UTF_8);
+        System.out.print(csv);
+    }
+
+    private static void row(StringBuilder csv, String label, Histogram response, Histogram service,
+                            long errors, Duration measured) {
+        csv.append(label)
+                .append(',').append(response.getTotalCount())
+                .append(',').append(errors)
+                .append(',').append(format(response.getTotalCount() / (measured.toNanos() / 1e9)))
+                .append(',').append(millis(response, 50.0))
+                .append(',').append(millis(response, 99.0))
+                .append(',').append(millis(response, 99.9))
+                .append(',').append(format(response.getMaxValue() / MICROS_PER_MILLI))
+                .append(',').append(millis(service, 50.0))
+                .append(',').append(millis(service, 99.0))
+                .append(',').append(millis(service, 99.9))
+                .append('\n');
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return format(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
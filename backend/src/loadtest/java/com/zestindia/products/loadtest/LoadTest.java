@@ -0,0 +1,148 @@
+package com.zestindia.products.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zestindia.products.ProductsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open-model load generator. Starts the application on the H2 {@code test} profile (or
+ * targets {@code --base-url}), seeds a user and a catalog through the API, drives the
+ * traffic mix at a fixed rate and writes the latency report. Run with
+ * {@code mvn -Pload-test verify -Dloadtest.args="..."}; options are {@code --key=value}:
+ * <ul>
+ *   <li>{@code rps} (100), {@code warmup} (PT10S), {@code duration} (PT60S)</li>
+ *   <li>{@code mix} - {@code label:weight,...} over {@link Endpoint}, defaults to every endpoint</li>
+ *   <li>{@code products} (200) and {@code items-per-product} (5) to seed</li>
+ *   <li>{@code out} (target/loadtest) - report directory, see {@link LatencyReport}</li>
+ *   <li>{@code base-url} - an already running instance to test instead, started with
+ *       {@code RATE_LIMIT_ENABLED=false}</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTest(HttpClient client, URI baseUri) {
+        this.client = client;
+        this.baseUri = baseUri;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double rps = Double.parseDouble(options.getOrDefault("rps", "100"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        TrafficMix mix = options.containsKey("mix") ? TrafficMix.parse(options.get("mix")) : TrafficMix.defaults();
+        int products = Integer.parseInt(options.getOrDefault("products", "200"));
+        int itemsPerProduct = Integer.parseInt(options.getOrDefault("items-per-product", "5"));
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+
+        ConfigurableApplicationContext application = null;
+        URI baseUri;
+        if (options.containsKey("base-url")) {
+            baseUri = URI.create(options.get("base-url"));
+        } else {
+            application = startApplication();
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            baseUri = URI.create("http://localhost:" + port);
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Endpoint.Target target = new LoadTest(client, baseUri).seed(products, itemsPerProduct);
+
+            System.out.printf("Driving %.0f req/s for %s after %s warmup against %s%n", rps, duration, warmup, baseUri);
+            LatencyRecorder recorder = new LatencyRecorder();
+            new OpenModelDriver(client, target, mix, recorder).run(rps, warmup, duration);
+            LatencyReport.write(recorder, duration, out);
+            System.out.println("Report written to " + out.toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(ProductsApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        // every virtual client shares one IP and user, so the limiter would answer 429
+                        "--rate-limit.enabled=false",
+                        "--logging.level.com.zestindia=WARN");
+    }
+
+    private Endpoint.Target seed(int products, int itemsPerProduct) throws IOException, InterruptedException {
+        String username = "load" + System.currentTimeMillis();
+        call("/api/v1/auth/register", null, Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", PASSWORD,
+                "fullName", "Load Test"));
+        String loginBody = objectMapper.writeValueAsString(Map.of("username", username, "password", PASSWORD));
+        String accessToken = call("/api/v1/auth/login", null, objectMapper.readTree(loginBody))
+                .path("data").path("accessToken").asText();
+
+        long[] productIds = new long[products];
+        Map<String, Object> items = Map.of("items",
+                Collections.nCopies(itemsPerProduct, Map.of("quantity", 10)));
+        for (int i = 0; i < products; i++) {
+            productIds[i] = call("/api/v1/products", accessToken, Map.of("productName", "load-" + i))
+                    .path("data").path("id").asLong();
+            if (itemsPerProduct > 0) {
+                call("/api/v1/products/" + productIds[i] + "/items/batch", accessToken, items);
+            }
+        }
+        System.out.printf("Seeded %d products with %d items each as %s%n", products, itemsPerProduct, username);
+        return new Endpoint.Target(baseUri, accessToken, loginBody, productIds);
+    }
+
+    private JsonNode call(String path, String accessToken, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got '" + arg + "'");
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,73 @@
+package com.zestindia.products.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed schedule regardless of how many are still outstanding, as
+ * independent users would, instead of waiting for each response before sending the next.
+ * Latency is recorded against the scheduled send time, so if the sender itself falls
+ * behind the delay still shows up in the results.
+ */
+final class OpenModelDriver {
+
+    private final HttpClient client;
+    private final Endpoint.Target target;
+    private final TrafficMix mix;
+    private final LatencyRecorder recorder;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    OpenModelDriver(HttpClient client, Endpoint.Target target, TrafficMix mix, LatencyRecorder recorder) {
+        this.client = client;
+        this.target = target;
+        this.mix = mix;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Runs {@code warmup} then {@code duration} at {@code rps} and waits for the outstanding
+     * requests to finish. Only requests scheduled after the warmup are recorded.
+     */
+    void run(double rps, Duration warmup, Duration duration) {
+        long intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / rps));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(mix.pick(), intended, intended >= measureFrom);
+        }
+
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void send(Endpoint endpoint, long intended, boolean measured) {
+        HttpRequest request = endpoint.request(target);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    if (measured) {
+                        boolean success = error == null && response.statusCode() < 400;
+                        recorder.record(endpoint, intended, sent, completed, success);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+}
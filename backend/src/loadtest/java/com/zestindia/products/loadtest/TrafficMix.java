@@ -0,0 +1,63 @@
+package com.zestindia.products.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of {@link Endpoint}. Parsed from {@code label:weight,...}, e.g.
+ * {@code get-product:60,list-products:30,login:10}; endpoints left out get no traffic.
+ */
+final class TrafficMix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.endpoints = new Endpoint[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            endpoints[i] = entry.getKey();
+            cumulativeWeights[i++] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+        }
+    }
+
+    static TrafficMix defaults() {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            weights.put(endpoint, endpoint.defaultWeight());
+        }
+        return new TrafficMix(weights);
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected label:weight but got '" + part + "'");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromLabel(pair[0]), weight);
+            }
+        }
+        return new TrafficMix(weights);
+    }
+
+    Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+}
@@ -18,8 +18,10 @@ public class CorsConfig {
         config.setAllowedOriginPatterns(List.of("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin",
-                "Access-Control-Request-Method", "Access-Control-Request-Headers"));
-        config.setExposedHeaders(Arrays.asList("Authorization", "Access-Control-Allow-Origin"));
+                "Access-Control-Request-Method", "Access-Control-Request-Headers", "If-None-Match", "If-Match",
+                "Last-Event-ID"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Access-Control-Allow-Origin", "ETag",
+                "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Retry-After"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
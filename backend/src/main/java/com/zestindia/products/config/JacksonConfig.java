@@ -0,0 +1,44 @@
+package com.zestindia.products.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    public static final String SPARSE_FIELDS_FILTER = "sparseFields";
+
+    /**
+     * Replaces reflective getter and setter calls with generated lambdas. Spring Boot registers
+     * every {@link Module} bean with the MVC ObjectMapper.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Attaches the sparse-fieldset filter to product and item responses through a mix-in, so the
+     * DTOs and any ObjectMapper built elsewhere are unaffected. Unless a request supplies its own
+     * filter the default writes every property.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(ProductResponse.class, SparseFieldsMixIn.class)
+                .mixIn(ItemResponse.class, SparseFieldsMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(SPARSE_FIELDS_FILTER)
+    interface SparseFieldsMixIn {
+    }
+}
@@ -0,0 +1,57 @@
+package com.zestindia.products.config;
+
+import com.zestindia.products.entity.Role;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on live buckets; a bucket left idle for {@code idleTimeout} is dropped, which
+     * is safe because an idle bucket has refilled anyway.
+     */
+    private long maximumBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Route groups, matched in order; the first whose paths match the request applies and
+     * requests matching no group are not limited.
+     */
+    private List<Group> groups = new ArrayList<>();
+
+    public enum KeyType {
+        /** The authenticated username, or the client IP for anonymous requests. */
+        USER,
+        /** Always the client IP. */
+        IP
+    }
+
+    @Data
+    public static class Limit {
+
+        private long capacity = 60;
+        private double refillPerSecond = 10;
+    }
+
+    @Data
+    public static class Group {
+
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private KeyType key = KeyType.USER;
+        private Limit limit = new Limit();
+
+        /** Overrides {@link #limit} for users holding the role; the most generous one wins. */
+        private Map<Role, Limit> roles = new EnumMap<>(Role.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.zestindia.products.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private int maximumPoolSize = 5;
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    /**
+     * How long after a read-write transaction a user's reads keep going to the primary, so they
+     * see their own writes despite replication lag. Zero disables stickiness.
+     */
+    private Duration stickiness = Duration.ZERO;
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,182 @@
+package com.zestindia.products.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the healthy replicas in turn and everything
+ * else to the primary. The routing key is read when the connection is first used, so this
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy};
+ * otherwise the transaction manager fetches the connection before the read-only flag is set.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration stickiness) {
+        this.primary = primary;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = new ReplicaTarget("replica-" + i, replicas.get(i));
+            this.replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.recentWriters = stickiness.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                rememberWriter();
+            }
+            return PRIMARY;
+        }
+        if (PRIMARY_PINNED.get() != null || isRecentWriter()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaTarget replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Runs {@code action} with the connections it opens routed to the primary, even inside a
+     * read-only transaction. Used for reads whose result is cached: right after a write is
+     * evicted, a lagging replica would put the old data back for the cache's whole TTL.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PRIMARY_PINNED.get() != null) {
+            return action.get();
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    /**
+     * Marks each replica healthy or not by validating one connection; unhealthy replicas are
+     * skipped by the round robin until a later check succeeds. A replica that is only busy
+     * keeps its state, so reads do not all move to the primary at peak load.
+     */
+    public void checkReplicas() {
+        for (ReplicaTarget replica : replicas) {
+            Boolean healthy = probe(replica.dataSource);
+            if (healthy == null) {
+                continue;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is now {}", replica.key, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Returns null when the replica is busy rather than down: its pool has no idle connection
+     * to lend, or timed out without a connection failure behind it. A saturated pool is not
+     * borrowed from, since that would wait out the pool's connection timeout.
+     */
+    private static Boolean probe(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pool && isSaturated(pool)) {
+            return null;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(1);
+        } catch (SQLTransientConnectionException e) {
+            return e.getCause() == null ? null : Boolean.FALSE;
+        } catch (Exception e) {
+            return Boolean.FALSE;
+        }
+    }
+
+    private static boolean isSaturated(HikariDataSource pool) {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        return poolBean != null && poolBean.getIdleConnections() == 0
+                && poolBean.getTotalConnections() >= pool.getMaximumPoolSize();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaTarget replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    DataSource getPrimary() {
+        return primary;
+    }
+
+    private void rememberWriter() {
+        String user = currentUser();
+        if (recentWriters != null && user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    private boolean isRecentWriter() {
+        String user = currentUser();
+        return recentWriters != null && user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static final class ReplicaTarget {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaTarget(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
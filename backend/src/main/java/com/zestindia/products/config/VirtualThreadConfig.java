@@ -0,0 +1,46 @@
+package com.zestindia.products.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true} on Java 21. Spring Boot then runs
+ * Tomcat request handling on virtual threads; this moves {@code @Async} work onto virtual
+ * threads as well and bounds JDBC concurrency by the Hikari pool size instead of by the number
+ * of threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean(name = "taskExecutor")
+    public Executor taskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ZestAsync-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Limiting JDBC concurrency to {} connections", hikari.getMaximumPoolSize());
+                    return new ConnectionLimitingDataSource(
+                            hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -5,6 +5,7 @@ import com.zestindia.products.dto.request.RefreshTokenRequest;
 import com.zestindia.products.dto.request.RegisterRequest;
 import com.zestindia.products.dto.response.ApiResponse;
 import com.zestindia.products.dto.response.AuthResponse;
+import com.zestindia.products.security.PasswordHashingExecutor;
 import com.zestindia.products.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +17,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -23,20 +26,23 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(response, "User registered successfully"));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> register(
+            @Valid @RequestBody RegisterRequest request) {
+        return passwordHashingExecutor.submit(() -> authService.register(request))
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(response, "User registered successfully")));
     }
 
     @PostMapping("/login")
     @Operation(summary = "Login with username and password")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(
+            @Valid @RequestBody LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> authService.login(request))
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response, "Login successful")));
     }
 
     @PostMapping("/refresh-token")
@@ -0,0 +1,106 @@
+package com.zestindia.products.controller;
+
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.exception.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags for product reads, computed from the response DTOs. A 304 for
+ * {@code If-None-Match} skips JSON serialization and the body transfer, but the DTOs are
+ * still loaded first: only product details and the first item page can come from
+ * {@code ProductCache}, so later item pages and cache misses run their queries as usual.
+ * Product and item tags embed the row version, so they double as {@code If-Match}
+ * preconditions for updates.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * The version moves on every product write; the item count is included because adding or
+     * removing items changes the response without touching the product row.
+     */
+    static String forProduct(ProductResponse product) {
+        return quote(productTag(product));
+    }
+
+    /**
+     * As {@link #forProduct}, with a digest of the requested sparse fieldset appended when there
+     * is one, since a trimmed product is a different representation.
+     */
+    static String forProduct(ProductResponse product, String fields) {
+        if (fields == null) {
+            return forProduct(product);
+        }
+        return quote(productTag(product) + "-"
+                + DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static String forItem(ItemResponse item) {
+        return quote("item" + item.getId() + "-" + item.getVersion());
+    }
+
+    /**
+     * Reads the version a client expects from {@code If-Match}: a tag issued by
+     * {@link #forProduct} for this product, or a bare quoted version such as {@code "3"}.
+     * Returns null when the header is absent or {@code *}, meaning no version check.
+     */
+    static Long productVersion(Long id, String ifMatch) {
+        return expectedVersion(ifMatch, "p" + id + "-(\\d+)-\\d+(?:-\\p{XDigit}+)?");
+    }
+
+    /**
+     * As {@link #productVersion} for a tag issued by {@link #forItem}.
+     */
+    static Long itemVersion(Long itemId, String ifMatch) {
+        return expectedVersion(ifMatch, "item" + itemId + "-(\\d+)");
+    }
+
+    /**
+     * The tag hashes exactly what the page renders: the paging metadata plus each item's id,
+     * quantity and version and the product name, and the requested sparse fieldset, since a
+     * trimmed page is a different representation.
+     */
+    static String forItems(Long productId, Page<ItemResponse> items, String fields) {
+        StringBuilder version = new StringBuilder()
+                .append(productId).append('|')
+                .append(fields).append('|')
+                .append(items.getNumber()).append('|')
+                .append(items.getSize()).append('|')
+                .append(items.getTotalElements());
+        for (ItemResponse item : items.getContent()) {
+            version.append('|').append(item.getId())
+                    .append(':').append(item.getQuantity())
+                    .append(':').append(item.getVersion())
+                    .append(':').append(item.getProductName());
+        }
+        return quote("i" + productId + "-"
+                + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Long expectedVersion(String ifMatch, String tagPattern) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher matcher = Pattern.compile("\"(?:" + tagPattern + "|(\\d+))\"").matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new BadRequestException("If-Match must be a single entity tag issued for this resource");
+        }
+        return Long.valueOf(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+    }
+
+    private static String productTag(ProductResponse product) {
+        return "p" + product.getId() + "-" + product.getVersion() + "-" + product.getItemCount();
+    }
+
+    private static String quote(String tag) {
+        return '"' + tag + '"';
+    }
+}
@@ -1,23 +1,42 @@
 package com.zestindia.products.controller;
 
+import com.zestindia.products.dto.request.BatchItemRequest;
 import com.zestindia.products.dto.request.ItemRequest;
 import com.zestindia.products.dto.request.ProductRequest;
 import com.zestindia.products.dto.response.ApiResponse;
+import com.zestindia.products.dto.response.BatchItemResponse;
+import com.zestindia.products.dto.response.CursorPageResponse;
 import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.dto.response.ProductQuantityResponse;
 import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.service.CatalogExportFormat;
+import com.zestindia.products.service.CatalogExportService;
 import com.zestindia.products.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -25,10 +44,20 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Products", description = "Product CRUD operations and item management")
 public class ProductController {
 
+    private static final String FIELDS_DESCRIPTION =
+            "Comma-separated product or item properties to return, e.g. id,productName";
+
     private final ProductService productService;
+    private final CatalogExportService catalogExportService;
+    private final ProductJsonCache productJsonCache;
+    private final ProductEventStream productEventStream;
+
+    @Value("${export.timeout:30m}")
+    private Duration exportTimeout;
 
     @GetMapping
     @Operation(summary = "Get all products with pagination and optional search")
+    @Parameter(name = SparseFieldsAdvice.PARAM, in = ParameterIn.QUERY, description = FIELDS_DESCRIPTION)
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAllProducts(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
@@ -45,11 +74,79 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through products with keyset (cursor) pagination",
+            description = "Pass the returned nextCursor to fetch the following page. sortBy (id or createdOn) "
+                    + "and sortDir only apply to the first page; the cursor carries them afterwards.")
+    @Parameter(name = SparseFieldsAdvice.PARAM, in = ParameterIn.QUERY, description = FIELDS_DESCRIPTION)
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        return ResponseEntity.ok(ApiResponse.success(
+                productService.scrollProducts(cursor, size, sortBy, sortDir.equalsIgnoreCase("desc"))));
+    }
+
+    @GetMapping("/top")
+    @Operation(summary = "Get the products with the highest total item quantity")
+    public ResponseEntity<ApiResponse<List<ProductQuantityResponse>>> getTopProducts(
+            @RequestParam(defaultValue = "quantity") @Parameter(description = "Ranking, only 'quantity' is supported") String by,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Number of products, 1 to 100") int n) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getTopProducts(by, n)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream the whole catalog of products and items as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+        CatalogExportFormat exportFormat = CatalogExportFormat.from(format);
+        StreamingResponseBody body = out -> {
+            // runs once async processing has started, so this raises the timeout of this request alone
+            request.getAsyncContext().setTimeout(exportTimeout.toMillis());
+            catalogExportService.export(exportFormat, out);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=catalog." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream committed product and item changes as server-sent events",
+            description = "Each event is a ProductChangeEvent. A '" + ProductEventStream.RESYNC_EVENT
+                    + "' event means changes were dropped and the client should refetch what it shows. "
+                    + "Reconnecting with Last-Event-ID replays the changes missed since.")
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) @Parameter(description = "Only stream changes to this product") Long productId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return productEventStream.open(productId, lastEventId);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID")
-    public ResponseEntity<ApiResponse<ProductResponse>> getProductById(
-            @PathVariable @Parameter(description = "Product ID") Long id) {
-        return ResponseEntity.ok(ApiResponse.success(productService.getProductById(id)));
+    @Operation(summary = "Get product by ID; honours If-None-Match",
+            description = "The body is an ApiResponse wrapping a ProductResponse. Without fields it is "
+                    + "written from pre-serialized JSON.")
+    public ResponseEntity<?> getProductById(
+            @PathVariable @Parameter(description = "Product ID") Long id,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        ProductResponse product = productService.getProductById(id);
+        String etag = ETags.forProduct(product, fields);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (fields != null) {
+            // the cached payload holds every property, so a trimmed product goes through SparseFieldsAdvice
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .body(ApiResponse.success(product));
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(productJsonCache.success(etag, product));
     }
 
     @PostMapping
@@ -62,29 +159,59 @@ public class ProductController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing product")
+    @Operation(summary = "Update an existing product; honours If-Match")
     public ResponseEntity<ApiResponse<ProductResponse>> updateProduct(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(
-                productService.updateProduct(id, request), "Product updated successfully"));
+        ProductResponse product = productService.updateProduct(id, request, ETags.productVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.forProduct(product))
+                .body(ApiResponse.success(product, "Product updated successfully"));
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a product by ID")
-    public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id) {
-        productService.deleteProduct(id);
-        return ResponseEntity.ok(ApiResponse.success(null, "Product deleted successfully"));
+    @Operation(summary = "Delete a product by ID; products with many items are deleted in the background (202)")
+    public ResponseEntity<ApiResponse<ProductDeletionStatus>> deleteProduct(@PathVariable Long id) {
+        ProductDeletionStatus deletion = productService.deleteProduct(id);
+        if (deletion.getJobId() == null) {
+            return ResponseEntity.ok(ApiResponse.success(deletion, "Product deleted successfully"));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/products/deletions/" + deletion.getJobId()))
+                .body(ApiResponse.success(deletion, "Product deletion started"));
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @Operation(summary = "Get the progress of a background product deletion")
+    public ResponseEntity<ApiResponse<ProductDeletionStatus>> getProductDeletion(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getProductDeletion(jobId)));
     }
 
     @GetMapping("/{id}/items")
-    @Operation(summary = "Get all items for a product")
+    @Operation(summary = "Get all items for a product; honours If-None-Match")
     public ResponseEntity<ApiResponse<Page<ItemResponse>>> getItemsByProduct(
             @PathVariable Long id,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(ApiResponse.success(productService.getItemsByProductId(id, pageable)));
+        Page<ItemResponse> items = productService.getItemsByProductId(id, pageable);
+        return ResponseEntity.ok()
+                .eTag(ETags.forItems(id, items, fields))
+                .body(ApiResponse.success(items));
+    }
+
+    @GetMapping("/{id}/items/scroll")
+    @Operation(summary = "Scroll through a product's items with keyset (cursor) pagination",
+            description = "Items come in id order without a total count. Pass the returned nextCursor "
+                    + "to fetch the following page.")
+    @Parameter(name = SparseFieldsAdvice.PARAM, in = ParameterIn.QUERY, description = FIELDS_DESCRIPTION)
+    public ResponseEntity<ApiResponse<CursorPageResponse<ItemResponse>>> scrollItems(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(ApiResponse.success(productService.scrollItems(id, cursor, size)));
     }
 
     @PostMapping("/{id}/items")
@@ -97,14 +224,27 @@ public class ProductController {
                 .body(ApiResponse.success(item, "Item added successfully"));
     }
 
+    @PostMapping("/{id}/items/batch")
+    @Operation(summary = "Add many items to a product in one request")
+    public ResponseEntity<ApiResponse<BatchItemResponse>> addItems(
+            @PathVariable Long id,
+            @Valid @RequestBody BatchItemRequest request) {
+        BatchItemResponse result = productService.addItemsToProduct(id, request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(result, "Items added successfully"));
+    }
+
     @PutMapping("/{id}/items/{itemId}")
-    @Operation(summary = "Update an item of a product")
+    @Operation(summary = "Update an item of a product; honours If-Match")
     public ResponseEntity<ApiResponse<ItemResponse>> updateItem(
             @PathVariable Long id,
             @PathVariable Long itemId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ItemRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(
-                productService.updateItem(id, itemId, request), "Item updated successfully"));
+        ItemResponse item = productService.updateItem(id, itemId, request, ETags.itemVersion(itemId, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.forItem(item))
+                .body(ApiResponse.success(item, "Item updated successfully"));
     }
 
     @DeleteMapping("/{id}/items/{itemId}")
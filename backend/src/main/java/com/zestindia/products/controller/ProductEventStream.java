@@ -0,0 +1,155 @@
+package com.zestindia.products.controller;
+
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import com.zestindia.products.service.ProductChangeFeed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves {@link ProductChangeFeed} subscriptions as server-sent events. Events are written by a
+ * small dedicated pool rather than the thread that committed the change, with at most one write
+ * task queued or running per connection, so events reach a client in order and a slow client
+ * only delays itself until its subscription
+ * overflows and it is sent a {@value #RESYNC_EVENT} event. Idle connections get a comment every
+ * {@code products.events.heartbeat}, which keeps proxies from closing them and notices clients
+ * that went away.
+ */
+@Component
+@Slf4j
+class ProductEventStream {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final ProductChangeFeed changeFeed;
+    private final Duration timeout;
+    private final ExecutorService writers;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    ProductEventStream(ProductChangeFeed changeFeed,
+                       @Value("${products.events.timeout:30m}") Duration timeout,
+                       @Value("${products.events.writer-threads:2}") int writerThreads) {
+        this.changeFeed = changeFeed;
+        this.timeout = timeout;
+        this.writers = Executors.newFixedThreadPool(writerThreads, new CustomizableThreadFactory("ProductEvents-"));
+    }
+
+    /**
+     * Opens a stream of the changes to {@code productId}, or to every product when it is null,
+     * resuming after {@code lastEventId} when the client reconnects.
+     */
+    SseEmitter open(Long productId, Long lastEventId) {
+        return open(productId, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter open(Long productId, Long lastEventId, SseEmitter emitter) {
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+        connections.add(connection);
+        connection.subscription = changeFeed.subscribe(productId, lastEventId, connection::schedule);
+        // delivers any replayed events, and anything published before the subscription was assigned
+        connection.schedule();
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${products.events.heartbeat:PT15S}")
+    void heartbeat() {
+        for (Connection connection : connections) {
+            connection.heartbeatDue = true;
+            connection.schedule();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.forEach(connection -> connection.emitter.complete());
+        writers.shutdownNow();
+    }
+
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile ProductChangeFeed.Subscription subscription;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void write() {
+            ProductChangeFeed.Subscription current = subscription;
+            if (closed || current == null) {
+                scheduled.set(false);
+                return;
+            }
+            send(current.poll());
+            // cleared only after sending, so events queued meanwhile are picked up by this
+            // connection's next write rather than by a second writer running alongside it
+            scheduled.set(false);
+            if (current.hasPending()) {
+                schedule();
+            }
+        }
+
+        private void send(ProductChangeFeed.Batch batch) {
+            try {
+                if (batch.resyncId() != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(batch.resyncId()))
+                            .name(RESYNC_EVENT)
+                            .data(RESYNC_EVENT));
+                }
+                for (ProductChangeEvent event : batch.events()) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getId()))
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                if (heartbeatDue && batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeatDue = false;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing product event stream: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            connections.remove(this);
+            ProductChangeFeed.Subscription current = subscription;
+            if (current != null) {
+                changeFeed.unsubscribe(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.zestindia.products.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zestindia.products.dto.response.ApiResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serialization fast path for {@code GET /api/v1/products/{id}}. The UTF-8 JSON of each served
+ * product is kept under its strong entity tag, which changes with the product's version and
+ * item count, so a cached payload is never stale and a product change simply stops hitting the
+ * old entry. The {@link ApiResponse} envelope is written around the payload byte by byte, in
+ * the same property order and format Jackson uses for it.
+ */
+@Component
+class ProductJsonCache implements MeterBinder {
+
+    private static final byte[] SUCCESS_PREFIX = ("{\"success\":true,\"message\":\""
+            + ApiResponse.SUCCESS_MESSAGE + "\",\"data\":").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP_PREFIX = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter writer;
+    private final Cache<String, byte[]> payloads;
+
+    ProductJsonCache(ObjectMapper objectMapper,
+                     @Value("${products.cache.ttl:5m}") Duration ttl,
+                     @Value("${products.cache.maximum-size:10000}") long maximumSize) {
+        this.writer = objectMapper.writerFor(ProductResponse.class);
+        this.payloads = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the body of {@code ApiResponse.success(product)} as JSON; {@code etag} must be the
+     * tag {@link ETags#forProduct} issued for {@code product}.
+     */
+    byte[] success(String etag, ProductResponse product) {
+        byte[] data = payloads.get(etag, key -> serialize(product));
+        byte[] timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now())
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[SUCCESS_PREFIX.length + data.length + TIMESTAMP_PREFIX.length
+                + timestamp.length + SUFFIX.length];
+        int offset = append(body, 0, SUCCESS_PREFIX);
+        offset = append(body, offset, data);
+        offset = append(body, offset, TIMESTAMP_PREFIX);
+        offset = append(body, offset, timestamp);
+        append(body, offset, SUFFIX);
+        return body;
+    }
+
+    private static int append(byte[] target, int offset, byte[] bytes) {
+        System.arraycopy(bytes, 0, target, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    private byte[] serialize(ProductResponse product) {
+        try {
+            return writer.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product " + product.getId(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, payloads, "productJson");
+    }
+}
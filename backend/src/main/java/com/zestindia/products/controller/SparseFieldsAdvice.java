@@ -0,0 +1,80 @@
+package com.zestindia.products.controller;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.zestindia.products.config.JacksonConfig;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.exception.BadRequestException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies {@code ?fields=id,productName} to product controller responses: each product and
+ * item in the body is written with only the named properties, while the envelope and paging
+ * metadata are left whole. Filtering happens during serialization, so no intermediate maps
+ * are built and requests without the parameter take the normal path.
+ */
+@RestControllerAdvice(assignableTypes = ProductController.class)
+class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String PARAM = "fields";
+
+    private final Set<String> fieldNames;
+
+    SparseFieldsAdvice(ObjectMapper objectMapper) {
+        this.fieldNames = Stream.of(ProductResponse.class, ItemResponse.class)
+                .map(type -> describe(objectMapper, type))
+                .flatMap(description -> description.findProperties().stream())
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(PARAM);
+        if (fields == null) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(JacksonConfig.SPARSE_FIELDS_FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(parse(fields))));
+    }
+
+    private Set<String> parse(String fields) {
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+        if (requested.isEmpty() || !fieldNames.containsAll(requested)) {
+            throw new BadRequestException("fields must be a comma-separated list of " + String.join(", ", fieldNames));
+        }
+        return requested;
+    }
+
+    private static BeanDescription describe(ObjectMapper objectMapper, Class<?> type) {
+        return objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type));
+    }
+}
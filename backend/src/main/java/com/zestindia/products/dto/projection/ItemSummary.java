@@ -0,0 +1,14 @@
+package com.zestindia.products.dto.projection;
+
+public interface ItemSummary {
+
+    Long getId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getQuantity();
+
+    Long getVersion();
+}
@@ -0,0 +1,8 @@
+package com.zestindia.products.dto.projection;
+
+public interface ProductItemCount {
+
+    Long getProductId();
+
+    long getItemCount();
+}
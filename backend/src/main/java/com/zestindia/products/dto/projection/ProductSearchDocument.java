@@ -0,0 +1,10 @@
+package com.zestindia.products.dto.projection;
+
+public interface ProductSearchDocument {
+
+    Long getId();
+
+    String getProductName();
+
+    String getCreatedBy();
+}
@@ -0,0 +1,20 @@
+package com.zestindia.products.dto.projection;
+
+import java.time.LocalDateTime;
+
+public interface ProductSummary {
+
+    Long getId();
+
+    String getProductName();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedOn();
+
+    String getModifiedBy();
+
+    LocalDateTime getModifiedOn();
+
+    Long getVersion();
+}
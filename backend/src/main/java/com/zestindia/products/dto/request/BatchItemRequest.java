@@ -0,0 +1,17 @@
+package com.zestindia.products.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchItemRequest {
+
+    @NotEmpty(message = "Items are required")
+    @Size(max = 50000, message = "A batch can contain at most 50000 items")
+    private List<@NotNull @Valid ItemRequest> items;
+}
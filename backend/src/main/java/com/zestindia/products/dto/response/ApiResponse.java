@@ -11,6 +11,8 @@ import java.time.LocalDateTime;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
+    public static final String SUCCESS_MESSAGE = "Operation successful";
+
     private boolean success;
     private String message;
     private T data;
@@ -28,7 +30,7 @@ public class ApiResponse<T> {
     }
 
     public static <T> ApiResponse<T> success(T data) {
-        return success(data, "Operation successful");
+        return success(data, SUCCESS_MESSAGE);
     }
 
     public static <T> ApiResponse<T> error(String message, Object errors) {
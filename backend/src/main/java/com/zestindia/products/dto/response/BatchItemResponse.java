@@ -0,0 +1,16 @@
+package com.zestindia.products.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+
+    private Long productId;
+    private int createdCount;
+}
@@ -1,5 +1,6 @@
 package com.zestindia.products.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,9 @@ public class ItemResponse {
 
     private Long id;
     private Long productId;
+    // left out of an update's response when the product is not cached
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String productName;
     private Integer quantity;
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package com.zestindia.products.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeEvent {
+
+    public enum Type {
+        PRODUCT_CREATED, PRODUCT_UPDATED, PRODUCT_DELETED, ITEM_CREATED, ITEMS_CREATED, ITEM_UPDATED, ITEM_DELETED
+    }
+
+    private long id;
+    private Type type;
+    private Long productId;
+    private Long itemId;
+    private Instant occurredAt;
+}
@@ -0,0 +1,28 @@
+package com.zestindia.products.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDeletionStatus {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private Long productId;
+    private State state;
+    private long totalItems;
+    private long deletedItems;
+    private Instant submittedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.zestindia.products.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductQuantityResponse {
+
+    private Long productId;
+    private String productName;
+    private long totalQuantity;
+}
@@ -20,4 +20,5 @@ public class ProductResponse {
     private String modifiedBy;
     private LocalDateTime modifiedOn;
     private int itemCount;
+    private Long version;
 }
@@ -2,6 +2,7 @@ package com.zestindia.products.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "item", indexes = {
@@ -24,4 +25,9 @@ public class Item {
 
     @Column(nullable = false)
     private Integer quantity;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -1,5 +1,6 @@
 package com.zestindia.products.entity;
 
+import com.zestindia.products.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 
 @Entity
@@ -7,6 +8,7 @@ import jakarta.persistence.*;
         @Index(name = "idx_user_username", columnList = "username"),
         @Index(name = "idx_user_email", columnList = "email")
 })
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
 
     @Id
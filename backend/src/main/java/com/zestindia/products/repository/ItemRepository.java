@@ -1,19 +1,80 @@
 package com.zestindia.products.repository;
 
+import com.zestindia.products.dto.projection.ItemSummary;
+import com.zestindia.products.dto.projection.ProductItemCount;
+import com.zestindia.products.dto.projection.ProductQuantityTotal;
 import com.zestindia.products.entity.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
-    Page<Item> findByProductId(Long productId, Pageable pageable);
+    /**
+     * Columns of an {@link ItemSummary}. The product name comes from the join in the same
+     * statement instead of initializing each item's lazy product proxy.
+     */
+    String SELECT_SUMMARY = "SELECT i.id AS id, p.id AS productId, p.productName AS productName, " +
+            "i.quantity AS quantity, i.version AS version FROM Item i JOIN i.product p ";
+
+    @Query(value = SELECT_SUMMARY + "WHERE p.id = :productId",
+            countQuery = "SELECT COUNT(i) FROM Item i WHERE i.product.id = :productId")
+    Page<ItemSummary> findByProductId(@Param("productId") Long productId, Pageable pageable);
 
     List<Item> findByProductId(Long productId);
 
-    void deleteByProductId(Long productId);
+    /**
+     * Keyset page of a product's items by id. Served by {@code idx_item_product_id}, which in
+     * InnoDB already ends in the primary key and so is ordered by (product_id, id).
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.id = :productId AND i.id > :afterId ORDER BY i.id ASC")
+    List<ItemSummary> findNextByProductId(@Param("productId") Long productId, @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    long countByProductId(Long productId);
+
+    @Query("SELECT i.product.id AS productId, COUNT(i) AS itemCount FROM Item i " +
+            "WHERE i.product.id IN :productIds GROUP BY i.product.id")
+    List<ProductItemCount> countByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT i.product.id AS productId, SUM(i.quantity) AS totalQuantity FROM Item i " +
+            "GROUP BY i.product.id")
+    List<ProductQuantityTotal> sumQuantityByProduct();
+
+    @Query("SELECT i.product.id AS productId, SUM(i.quantity) AS totalQuantity FROM Item i " +
+            "GROUP BY i.product.id ORDER BY SUM(i.quantity) DESC, i.product.id ASC")
+    List<ProductQuantityTotal> findTopQuantityTotals(Pageable pageable);
+
+    @Query("SELECT i.product.id AS productId, SUM(i.quantity) AS totalQuantity FROM Item i " +
+            "WHERE i.product.id IN :productIds GROUP BY i.product.id")
+    List<ProductQuantityTotal> sumQuantityByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id AND i.product.id = :productId")
+    Optional<Long> findVersion(@Param("id") Long id, @Param("productId") Long productId);
+
+    /**
+     * Sets the quantity only if the item belongs to {@code productId} and is still at
+     * {@code version}, bumping the version; returns 0 when either check fails.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.quantity = :quantity, i.version = i.version + 1 " +
+            "WHERE i.id = :id AND i.product.id = :productId AND i.version = :version")
+    int updateQuantity(@Param("id") Long id, @Param("productId") Long productId,
+                       @Param("quantity") Integer quantity, @Param("version") Long version);
+
+    @Query("SELECT i.id FROM Item i WHERE i.product.id = :productId ORDER BY i.id ASC")
+    List<Long> findIdsByProductId(@Param("productId") Long productId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.product.id = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
 }
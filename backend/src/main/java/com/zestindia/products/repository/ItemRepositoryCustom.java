@@ -0,0 +1,18 @@
+package com.zestindia.products.repository;
+
+import com.zestindia.products.entity.Item;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ItemRepositoryCustom {
+
+    Stream<Item> streamAllOrderById();
+
+    /**
+     * Inserts one item per quantity for {@code productId} with JDBC batches of
+     * {@code items.batch.chunk-size} rows, bypassing the persistence context. Ids stay
+     * AUTO_INCREMENT and are not returned.
+     */
+    int insertAll(Long productId, List<Integer> quantities);
+}
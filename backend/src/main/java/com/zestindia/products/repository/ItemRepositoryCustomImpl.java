@@ -0,0 +1,48 @@
+package com.zestindia.products.repository;
+
+import com.zestindia.products.entity.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Value("${items.batch.chunk-size:500}")
+    private int insertChunkSize;
+
+    @Override
+    public Stream<Item> streamAllOrderById() {
+        return entityManager.createQuery("SELECT i FROM Item i ORDER BY i.id ASC", Item.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public int insertAll(Long productId, List<Integer> quantities) {
+        // runs on the connection of the surrounding JPA transaction; with rewriteBatchedStatements
+        // MySQL Connector/J sends each batch as one multi-row INSERT
+        int[][] counts = jdbcTemplate.batchUpdate("INSERT INTO item (product_id, quantity, version) VALUES (?, ?, 0)",
+                quantities, insertChunkSize, (ps, quantity) -> {
+                    ps.setLong(1, productId);
+                    ps.setInt(2, quantity);
+                });
+        return Arrays.stream(counts).mapToInt(chunk -> chunk.length).sum();
+    }
+}
@@ -1,20 +1,71 @@
 package com.zestindia.products.repository;
 
+import com.zestindia.products.dto.projection.ProductSearchDocument;
+import com.zestindia.products.dto.projection.ProductSummary;
 import com.zestindia.products.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    /**
+     * Columns of a {@link ProductSummary}. List reads select these into the projection rather
+     * than loading entities, so rows are neither managed nor snapshotted for dirty checking.
+     */
+    String SELECT_SUMMARY = "SELECT p.id AS id, p.productName AS productName, p.createdBy AS createdBy, " +
+            "p.createdOn AS createdOn, p.modifiedBy AS modifiedBy, p.modifiedOn AS modifiedOn, p.version AS version ";
 
     Page<Product> findByProductNameContainingIgnoreCase(String productName, Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.createdBy) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
+    @Query(value = SELECT_SUMMARY + "FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY + "FROM Product p WHERE LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.createdBy) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.createdBy) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<ProductSummary> searchProducts(@Param("search") String search, Pageable pageable);
 
     boolean existsByProductNameIgnoreCase(String productName);
+
+    Page<ProductSummary> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    List<ProductSummary> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.productName AS productName, p.createdBy AS createdBy FROM Product p " +
+            "WHERE p.id > :id ORDER BY p.id ASC")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    List<ProductSummary> findAllBy(Pageable pageable);
+
+    /**
+     * Deletes the row without loading the product or cascading to its items, which must
+     * already be gone.
+     */
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    @Query(SELECT_SUMMARY + "FROM Product p WHERE p.id > :id ORDER BY p.id ASC")
+    List<ProductSummary> findNextById(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "FROM Product p WHERE p.id < :id ORDER BY p.id DESC")
+    List<ProductSummary> findPreviousById(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "FROM Product p WHERE p.createdOn > :createdOn OR (p.createdOn = :createdOn AND p.id > :id) " +
+            "ORDER BY p.createdOn ASC, p.id ASC")
+    List<ProductSummary> findNextByCreatedOn(@Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "FROM Product p WHERE p.createdOn < :createdOn OR (p.createdOn = :createdOn AND p.id < :id) " +
+            "ORDER BY p.createdOn DESC, p.id DESC")
+    List<ProductSummary> findPreviousByCreatedOn(@Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.zestindia.products.repository;
+
+import com.zestindia.products.entity.Product;
+
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    Stream<Product> streamAllOrderById();
+}
@@ -0,0 +1,26 @@
+package com.zestindia.products.repository;
+
+import com.zestindia.products.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Product> streamAllOrderById() {
+        return entityManager.createQuery("SELECT p FROM Product p ORDER BY p.id ASC", Product.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -3,9 +3,14 @@ package com.zestindia.products.repository;
 import com.zestindia.products.entity.RefreshToken;
 import com.zestindia.products.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +22,14 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     @Modifying
     int deleteByUser(User user);
+
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (user_id, token, expiry_date) VALUES (:userId, :token, :expiryDate) " +
+            "ON DUPLICATE KEY UPDATE token = :token, expiry_date = :expiryDate", nativeQuery = true)
+    int upsertForUser(@Param("userId") Long userId,
+                      @Param("token") String token,
+                      @Param("expiryDate") Instant expiryDate);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiryDate < :now ORDER BY t.expiryDate ASC")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package com.zestindia.products.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal returned by {@link UserDetailsServiceImpl}, carrying the {@code users} row it was
+ * built from so that login can issue tokens without looking the user up a second time.
+ */
+public class AuthenticatedUser extends User {
+
+    private final com.zestindia.products.entity.User user;
+
+    public AuthenticatedUser(com.zestindia.products.entity.User user,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(user.getUsername(), user.getPassword(), user.isEnabled(), true, true,
+                user.isEnabled(), authorities);
+        this.user = user;
+    }
+
+    public com.zestindia.products.entity.User getUser() {
+        return user;
+    }
+}
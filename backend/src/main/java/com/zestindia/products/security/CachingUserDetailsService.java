@@ -0,0 +1,60 @@
+package com.zestindia.products.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache in front of {@link UserDetailsServiceImpl} for the JWT filter, which
+ * otherwise queries {@code users} on every authenticated request. Entries are held for at
+ * most {@code security.user-cache.ttl}, which bounds how long a role change or disabled
+ * account can go unnoticed; {@link #evict(String)} is called on logout and user updates.
+ * Cached copies carry no password, so this must not back the login authentication provider.
+ */
+@Component
+public class CachingUserDetailsService implements UserDetailsService, MeterBinder {
+
+    private final UserDetailsServiceImpl delegate;
+    private final Cache<String, UserDetails> users;
+
+    public CachingUserDetailsService(UserDetailsServiceImpl delegate,
+                                     @Value("${security.user-cache.ttl:30s}") Duration ttl,
+                                     @Value("${security.user-cache.maximum-size:10000}") long maximumSize) {
+        this.delegate = delegate;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return users.get(username, this::loadWithoutPassword);
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "userDetails");
+    }
+
+    private UserDetails loadWithoutPassword(String username) {
+        return User.withUserDetails(delegate.loadUserByUsername(username))
+                .password("")
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.zestindia.products.security;
+
+import com.zestindia.products.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt-bound work (login and register) off the request threads on a pool sized to the
+ * CPU count with a bounded queue. When the queue is full the caller gets a
+ * {@link ServiceBusyException} straight away, which is answered with 503 and Retry-After, so a
+ * login burst cannot take threads away from the product API.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final String NAME = "passwordHashing";
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer queueWait;
+    private final Timer execution;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("PasswordHash-"));
+        this.retryAfter = retryAfter;
+        this.queueWait = Timer.builder("auth.hashing.queue.wait")
+                .description("Time login and register requests wait for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.execution = Timer.builder("auth.hashing.execution")
+                .description("Time spent on a hashing thread, dominated by BCrypt")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the pool and its queue were full")
+                .tag("name", NAME)
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, NAME, List.of()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return execution.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-in requests, please retry shortly", retryAfter);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
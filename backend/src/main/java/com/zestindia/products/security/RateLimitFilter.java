@@ -0,0 +1,152 @@
+package com.zestindia.products.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zestindia.products.config.RateLimitProperties;
+import com.zestindia.products.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@code rate-limit} route groups. Runs after {@link JwtAuthenticationFilter}
+ * so authenticated requests are limited per username and role; anonymous requests and
+ * groups keyed by IP use the client address, which honours {@code X-Forwarded-For} only
+ * when {@code server.forward-headers-strategy} is set. Every limited response carries the
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers
+ * (reset in seconds), and a rejected request gets {@code 429} with {@code Retry-After}.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final Comparator<RateLimitProperties.Limit> MOST_GENEROUS =
+            Comparator.comparingDouble(RateLimitProperties.Limit::getRefillPerSecond)
+                    .thenComparingLong(RateLimitProperties.Limit::getCapacity);
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+    private volatile MeterRegistry meterRegistry;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this(properties, new RateLimiter(properties), objectMapper);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitProperties.Group group = findGroup(pathHelper.getPathWithinApplication(request));
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = authenticated(SecurityContextHolder.getContext().getAuthentication());
+        String client = group.getKey() == RateLimitProperties.KeyType.USER && authentication != null
+                ? "user:" + authentication.getName()
+                : "ip:" + request.getRemoteAddr();
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group.getName(), client, limitFor(group, authentication));
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = toSeconds(decision.retryAfterNanos());
+        log.warn("Rate limit exceeded for {} on {}", client, group.getName());
+        if (meterRegistry != null) {
+            Counter.builder("rate_limit.rejected").tag("group", group.getName()).register(meterRegistry).increment();
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests; retry after " + retryAfter + " seconds"));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        rateLimiter.bindTo(registry);
+    }
+
+    private RateLimitProperties.Group findGroup(String path) {
+        for (RateLimitProperties.Group group : properties.getGroups()) {
+            for (String pattern : group.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static RateLimitProperties.Limit limitFor(RateLimitProperties.Group group, Authentication authentication) {
+        if (authentication == null || group.getRoles().isEmpty()) {
+            return group.getLimit();
+        }
+        Set<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return group.getRoles().entrySet().stream()
+                .filter(entry -> authorities.contains(entry.getKey().name()))
+                .map(Map.Entry::getValue)
+                .max(MOST_GENEROUS)
+                .orElse(group.getLimit());
+    }
+
+    private static Authentication authenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication : null;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zestindia.products.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zestindia.products.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by route group and client. Buckets live in a bounded Caffeine cache,
+ * whose concurrent hash table is striped so lookups from different clients do not contend,
+ * and are evicted once idle. Each bucket is a single {@link AtomicLong} updated with CAS, so
+ * taking a token never blocks.
+ */
+class RateLimiter {
+
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+    }
+
+    Decision tryAcquire(String group, String client, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        // the limit is part of the key, so a client whose role changes starts on the new limit
+        return buckets.get(new BucketKey(group, client, limit), key -> new TokenBucket(limit, now))
+                .tryConsume(now);
+    }
+
+    void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, buckets, "rateLimitBuckets");
+    }
+
+    /**
+     * Outcome of one request against its bucket. {@code resetNanos} is how long until the
+     * bucket is full again and {@code retryAfterNanos} how long until the next token, zero
+     * when the request was allowed.
+     */
+    record Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    private record BucketKey(String group, String client, RateLimitProperties.Limit limit) {
+    }
+
+    /**
+     * Token bucket kept as the generic cell rate algorithm: the only state is the time at which
+     * the bucket would be full again. Each token pushes that time one refill interval further
+     * out, and a request is rejected when it would move it more than {@code capacity}
+     * intervals beyond now.
+     */
+    static final class TokenBucket {
+
+        private final long capacity;
+        private final long intervalNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(RateLimitProperties.Limit limit, long now) {
+            this.capacity = limit.getCapacity();
+            this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / limit.getRefillPerSecond()));
+            this.fullAt = new AtomicLong(now);
+        }
+
+        Decision tryConsume(long now) {
+            long burstNanos = capacity * intervalNanos;
+            while (true) {
+                long current = fullAt.get();
+                long base = current - now > 0 ? current : now;
+                long next = base + intervalNanos;
+                if (next - now > burstNanos) {
+                    return new Decision(false, capacity, 0L, base - now, next - burstNanos - now);
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return new Decision(true, capacity, (now + burstNanos - next) / intervalNanos, next - now, 0L);
+                }
+            }
+        }
+    }
+}
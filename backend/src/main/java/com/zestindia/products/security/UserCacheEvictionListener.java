@@ -0,0 +1,34 @@
+package com.zestindia.products.security;
+
+import com.zestindia.products.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserCacheEvictionListener {
+
+    private final CachingUserDetailsService cachingUserDetailsService;
+
+    public UserCacheEvictionListener(@Lazy CachingUserDetailsService cachingUserDetailsService) {
+        this.cachingUserDetailsService = cachingUserDetailsService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        cachingUserDetailsService.evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cachingUserDetailsService.evict(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.zestindia.products.security;
+
+import java.time.Instant;
+
+public final class VerifiedToken {
+
+    private final String username;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String username, Instant issuedAt, Instant expiresAt) {
+        this.username = username;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() { return username; }
+    public Instant getIssuedAt() { return issuedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
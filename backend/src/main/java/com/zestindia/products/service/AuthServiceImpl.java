@@ -1,5 +1,6 @@
 package com.zestindia.products.service;
 
+import com.zestindia.products.config.MetricsConfig;
 import com.zestindia.products.dto.request.LoginRequest;
 import com.zestindia.products.dto.request.RefreshTokenRequest;
 import com.zestindia.products.dto.request.RegisterRequest;
@@ -8,8 +9,12 @@ import com.zestindia.products.entity.RefreshToken;
 import com.zestindia.products.entity.Role;
 import com.zestindia.products.entity.User;
 import com.zestindia.products.exception.BadRequestException;
+import com.zestindia.products.exception.TokenRefreshException;
 import com.zestindia.products.repository.UserRepository;
+import com.zestindia.products.security.AuthenticatedUser;
+import com.zestindia.products.security.CachingUserDetailsService;
 import com.zestindia.products.security.JwtTokenProvider;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.AUTH_SERVICE_TIMER)
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
@@ -31,19 +37,22 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final RefreshTokenService refreshTokenService;
+    private final CachingUserDetailsService cachingUserDetailsService;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
     public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
                            JwtTokenProvider jwtTokenProvider, AuthenticationManager authenticationManager,
-                           UserDetailsService userDetailsService, RefreshTokenService refreshTokenService) {
+                           UserDetailsService userDetailsService, RefreshTokenService refreshTokenService,
+                           CachingUserDetailsService cachingUserDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.refreshTokenService = refreshTokenService;
+        this.cachingUserDetailsService = cachingUserDetailsService;
     }
 
     @Override
@@ -69,7 +78,7 @@ public class AuthServiceImpl implements AuthService {
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
         String accessToken = jwtTokenProvider.generateToken(userDetails);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getUsername());
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
         return buildAuthResponse(accessToken, refreshToken.getToken(), user);
     }
@@ -80,25 +89,28 @@ public class AuthServiceImpl implements AuthService {
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String accessToken = jwtTokenProvider.generateToken(userDetails);
-
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new BadRequestException("User not found"));
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        String accessToken = jwtTokenProvider.generateToken(principal);
+        User user = principal.getUser();
 
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getUsername());
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
         return buildAuthResponse(accessToken, refreshToken.getToken(), user);
     }
 
+    /**
+     * Runs read-write so the token lookup goes to the primary; a replica may not have seen a
+     * token issued moments ago. The expired-token delete is kept when verification fails.
+     */
     @Override
+    @Transactional(noRollbackFor = TokenRefreshException.class)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         RefreshToken refreshToken = refreshTokenService.findByToken(request.getRefreshToken());
         refreshToken = refreshTokenService.verifyExpiration(refreshToken);
 
         User user = refreshToken.getUser();
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+        UserDetails userDetails = cachingUserDetailsService.loadUserByUsername(user.getUsername());
         String newAccessToken = jwtTokenProvider.generateToken(userDetails);
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.getUsername());
+        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
 
         return buildAuthResponse(newAccessToken, newRefreshToken.getToken(), user);
     }
@@ -107,6 +119,7 @@ public class AuthServiceImpl implements AuthService {
     @Transactional
     public void logout(String username) {
         refreshTokenService.deleteByUsername(username);
+        cachingUserDetailsService.evict(username);
     }
 
     private AuthResponse buildAuthResponse(String accessToken, String refreshToken, User user) {
@@ -0,0 +1,147 @@
+package com.zestindia.products.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.zestindia.products.entity.Item;
+import com.zestindia.products.entity.Product;
+import com.zestindia.products.repository.ItemRepository;
+import com.zestindia.products.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every product followed by every item. Both repository streams use a MySQL
+ * server-side cursor and each row is detached once written; the persistence context is also
+ * cleared periodically to drop the product proxies that items reference, so memory use does
+ * not grow with catalog size. The streams are opened one after the other because a
+ * connection can only have one streaming result set open at a time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final String CSV_HEADER =
+            "record_type,id,product_id,product_name,created_by,created_on,modified_by,modified_on,quantity";
+
+    private final ProductRepository productRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Transactional(readOnly = true)
+    public void export(CatalogExportFormat format, OutputStream out) throws IOException {
+        if (format == CatalogExportFormat.CSV) {
+            exportCsv(out);
+        } else {
+            exportNdjson(out);
+        }
+    }
+
+    private void exportNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            long products = drain(productRepository.streamAllOrderById(), product -> writeJson(generator, product));
+            long items = drain(itemRepository.streamAllOrderById(), item -> writeJson(generator, item));
+            log.debug("Exported {} products and {} items as NDJSON", products, items);
+        }
+    }
+
+    private void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long products = drain(productRepository.streamAllOrderById(), product -> writeCsvRow(writer, "product",
+                String.valueOf(product.getId()), String.valueOf(product.getId()), product.getProductName(),
+                product.getCreatedBy(), toString(product.getCreatedOn()), product.getModifiedBy(),
+                toString(product.getModifiedOn()), null));
+        long items = drain(itemRepository.streamAllOrderById(), item -> writeCsvRow(writer, "item",
+                String.valueOf(item.getId()), String.valueOf(item.getProduct().getId()),
+                null, null, null, null, null, String.valueOf(item.getQuantity())));
+        writer.flush();
+        log.debug("Exported {} products and {} items as CSV", products, items);
+    }
+
+    private <T> long drain(Stream<T> stream, RowWriter<T> rowWriter) throws IOException {
+        long rows = 0;
+        try (stream) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                rowWriter.write(row);
+                entityManager.detach(row);
+                if (++rows % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void writeJson(JsonGenerator generator, Product product) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "product");
+        generator.writeNumberField("id", product.getId());
+        generator.writeStringField("productName", product.getProductName());
+        generator.writeStringField("createdBy", product.getCreatedBy());
+        generator.writeStringField("createdOn", toString(product.getCreatedOn()));
+        generator.writeStringField("modifiedBy", product.getModifiedBy());
+        generator.writeStringField("modifiedOn", toString(product.getModifiedOn()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeJson(JsonGenerator generator, Item item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "item");
+        generator.writeNumberField("id", item.getId());
+        generator.writeNumberField("productId", item.getProduct().getId());
+        generator.writeNumberField("quantity", item.getQuantity());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
@@ -0,0 +1,41 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque keyset position for scrolling a product's items: the product id and the id of the
+ * last item returned. The product id is checked on decode so a cursor cannot be replayed
+ * against another product.
+ */
+final class ItemCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private ItemCursor() {
+    }
+
+    static String encode(Long productId, Long lastItemId) {
+        String raw = productId + SEPARATOR + lastItemId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id of the last item already seen.
+     */
+    static long decode(String cursor, Long productId) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 2 || !productId.equals(Long.valueOf(parts[0]))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.zestindia.products.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zestindia.products.config.ReadWriteRoutingDataSource;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for product details and the first page of each product's items; callers
+ * evict after commit, so a rolled-back write never leaves an entry stale. Product loads run
+ * inside Caffeine's per-key compute, so an {@link #evictProduct} issued while one is in flight
+ * waits for it and then removes the result. Item pages are grouped under their product id, so
+ * {@link #evictItems} is a single per-key invalidation: a page still loading when it runs is
+ * stored into the discarded group and never served. The item cache statistics count lookups of
+ * these groups. Loads whose result is stored read from the primary database, so a lagging
+ * read replica cannot put data from before an eviction back into the cache. Concurrent loads of
+ * the same uncached page share one query; cached pages are collapsed by the group's per-shape
+ * compute instead, so a load started before an eviction is never joined by one after it.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final Cache<Long, ProductResponse> products;
+    // page sizes and sorts cached per product; further shapes are loaded without caching
+    static final int MAX_PAGE_SHAPES = 8;
+
+    private final Cache<Long, Map<PageShape, Page<ItemResponse>>> firstItemPages;
+    private final SingleFlight<UncachedPage, Page<ItemResponse>> uncachedPageLoads = new SingleFlight<>("productItems");
+
+    public ProductCache(@Value("${products.cache.ttl:5m}") Duration ttl,
+                        @Value("${products.cache.maximum-size:10000}") long maximumSize) {
+        this.products = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.firstItemPages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public ProductResponse getProduct(Long id, Function<Long, ProductResponse> loader) {
+        return products.get(id, key -> ReadWriteRoutingDataSource.onPrimary(() -> loader.apply(key)));
+    }
+
+    /**
+     * Returns the cached details of a product without loading them, or null.
+     */
+    public ProductResponse getCachedProduct(Long id) {
+        return products.getIfPresent(id);
+    }
+
+    /**
+     * Serves the first page of a product's items from the cache; later pages always go to
+     * {@code loader}, since they are requested far less often and would multiply the key space.
+     */
+    public Page<ItemResponse> getItems(Long productId, Pageable pageable, Supplier<Page<ItemResponse>> loader) {
+        if (pageable.isUnpaged() || pageable.getPageNumber() != 0) {
+            return uncachedPageLoads.execute(new UncachedPage(productId, pageable), loader);
+        }
+        Map<PageShape, Page<ItemResponse>> pages = firstItemPages.get(productId, id -> new ConcurrentHashMap<>());
+        PageShape shape = new PageShape(pageable.getPageSize(), pageable.getSort());
+        Page<ItemResponse> cached = pages.get(shape);
+        if (cached != null) {
+            return cached;
+        }
+        if (pages.size() >= MAX_PAGE_SHAPES) {
+            return uncachedPageLoads.execute(new UncachedPage(productId, pageable), loader);
+        }
+        return pages.computeIfAbsent(shape, key -> ReadWriteRoutingDataSource.onPrimary(loader));
+    }
+
+    public void evictProduct(Long productId) {
+        products.invalidate(productId);
+        evictItems(productId);
+    }
+
+    public void evictItems(Long productId) {
+        firstItemPages.invalidate(productId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, products, "productDetails");
+        CaffeineCacheMetrics.monitor(registry, firstItemPages, "productItemsFirstPage");
+        uncachedPageLoads.bindTo(registry);
+    }
+
+    private record PageShape(int size, Sort sort) {
+    }
+
+    private record UncachedPage(Long productId, Pageable pageable) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory feed of committed product and item changes. Events get increasing ids and the
+ * last {@code products.events.history-size} are kept in a ring buffer, so a subscriber that
+ * reconnects with the id of the last event it saw is replayed what it missed. Each subscriber
+ * holds at most {@code products.events.subscriber-buffer} undelivered events; when a slow one
+ * overflows, its backlog is dropped and it is told to resync, i.e. refetch what it shows,
+ * rather than holding memory or slowing down publishers. Ids restart with the application, so
+ * a resume id beyond the latest event also asks for a resync.
+ */
+@Component
+public class ProductChangeFeed implements MeterBinder {
+
+    private final ProductChangeEvent[] history;
+    private final int subscriberBuffer;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private final LongAdder resyncs = new LongAdder();
+    // guarded by lock
+    private long lastId;
+
+    public ProductChangeFeed(@Value("${products.events.history-size:1024}") int historySize,
+                             @Value("${products.events.subscriber-buffer:256}") int subscriberBuffer) {
+        this.history = new ProductChangeEvent[historySize];
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    /**
+     * Records a change and queues it for every matching subscriber. Callers publish after
+     * commit, so subscribers never see a change that was rolled back.
+     */
+    public void publish(ProductChangeEvent.Type type, Long productId, Long itemId) {
+        List<Subscription> ready = new ArrayList<>();
+        synchronized (lock) {
+            ProductChangeEvent event = ProductChangeEvent.builder()
+                    .id(++lastId)
+                    .type(type)
+                    .productId(productId)
+                    .itemId(itemId)
+                    .occurredAt(Instant.now())
+                    .build();
+            history[slot(event.getId())] = event;
+            for (Subscription subscription : subscriptions) {
+                if (subscription.offer(event)) {
+                    ready.add(subscription);
+                }
+            }
+        }
+        ready.forEach(subscription -> subscription.onReady.run());
+    }
+
+    /**
+     * Subscribes to changes of {@code productId}, or of every product when it is null. When
+     * {@code lastEventId} is given, the events after it are queued straight away, or a resync
+     * if they are no longer in the history. {@code onReady} runs on the publishing thread
+     * whenever later events are queued and must only hand off to {@link Subscription#poll}.
+     */
+    public Subscription subscribe(Long productId, Long lastEventId, Runnable onReady) {
+        Subscription subscription = new Subscription(productId, onReady);
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscription, lastEventId);
+            }
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("products.events.subscribers", subscriptions, Set::size)
+                .description("Open change feed subscriptions")
+                .register(registry);
+        FunctionCounter.builder("products.events.published", this, ProductChangeFeed::latestId)
+                .description("Change events published since startup")
+                .register(registry);
+        FunctionCounter.builder("products.events.resyncs", resyncs, LongAdder::sum)
+                .description("Subscribers told to resync after overflowing or resuming from a lost event")
+                .register(registry);
+    }
+
+    private long latestId() {
+        synchronized (lock) {
+            return lastId;
+        }
+    }
+
+    private void replay(Subscription subscription, long lastEventId) {
+        long oldestId = Math.max(1L, lastId - history.length + 1);
+        if (lastEventId > lastId || lastEventId + 1 < oldestId) {
+            subscription.resync(lastId);
+            return;
+        }
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            subscription.offer(history[slot(id)]);
+        }
+    }
+
+    private int slot(long id) {
+        return (int) (id % history.length);
+    }
+
+    /**
+     * What a subscriber has to deliver next: a resync up to {@code resyncId} when non-null,
+     * followed by the events queued since, oldest first.
+     */
+    public record Batch(Long resyncId, List<ProductChangeEvent> events) {
+
+        public boolean isEmpty() {
+            return resyncId == null && events.isEmpty();
+        }
+    }
+
+    public final class Subscription {
+
+        private final Long productId;
+        private final Runnable onReady;
+        private final Deque<ProductChangeEvent> pending = new ArrayDeque<>();
+        private Long resyncId;
+
+        private Subscription(Long productId, Runnable onReady) {
+            this.productId = productId;
+            this.onReady = onReady;
+        }
+
+        /**
+         * Takes everything queued so far.
+         */
+        public synchronized Batch poll() {
+            Batch batch = new Batch(resyncId, List.copyOf(pending));
+            pending.clear();
+            resyncId = null;
+            return batch;
+        }
+
+        /**
+         * Whether the next {@link #poll} would return anything.
+         */
+        public synchronized boolean hasPending() {
+            return resyncId != null || !pending.isEmpty();
+        }
+
+        private synchronized boolean offer(ProductChangeEvent event) {
+            if (productId != null && !productId.equals(event.getProductId())) {
+                return false;
+            }
+            if (pending.size() < subscriberBuffer) {
+                pending.add(event);
+            } else {
+                resync(event.getId());
+            }
+            return true;
+        }
+
+        private synchronized void resync(long upToId) {
+            if (resyncId == null) {
+                resyncs.increment();
+            }
+            pending.clear();
+            resyncId = upToId;
+        }
+    }
+}
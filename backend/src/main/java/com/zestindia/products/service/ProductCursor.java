@@ -0,0 +1,89 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.projection.ProductSummary;
+import com.zestindia.products.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque keyset position for product scrolling: the sort column, its direction and the
+ * (sort key, id) pair of the last row returned. Encoded as URL-safe Base64 so clients
+ * treat it as a token rather than something to build by hand.
+ */
+final class ProductCursor {
+
+    static final String SORT_ID = "id";
+    static final String SORT_CREATED_ON = "createdOn";
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final boolean descending;
+    private final String sortKey;
+    private final Long id;
+
+    private ProductCursor(String sortBy, boolean descending, String sortKey, Long id) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    static ProductCursor after(ProductSummary product, String sortBy, boolean descending) {
+        String sortKey = SORT_CREATED_ON.equals(sortBy)
+                ? product.getCreatedOn().toString()
+                : String.valueOf(product.getId());
+        return new ProductCursor(sortBy, descending, sortKey, product.getId());
+    }
+
+    static ProductCursor decode(String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (parts.length != 4 || !isSupportedSort(parts[0])) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            ProductCursor decoded = new ProductCursor(parts[0], "desc".equals(parts[1]), parts[2], Long.valueOf(parts[3]));
+            if (SORT_CREATED_ON.equals(decoded.sortBy)) {
+                decoded.createdOn();
+            }
+            return decoded;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    static boolean isSupportedSort(String sortBy) {
+        return SORT_ID.equals(sortBy) || SORT_CREATED_ON.equals(sortBy);
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, sortBy, descending ? "desc" : "asc", sortKey, String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String getSortBy() {
+        return sortBy;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    LocalDateTime createdOn() {
+        return LocalDateTime.parse(sortKey);
+    }
+}
@@ -0,0 +1,191 @@
+package com.zestindia.products.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.exception.ResourceNotFoundException;
+import com.zestindia.products.exception.ServiceBusyException;
+import com.zestindia.products.repository.ItemRepository;
+import com.zestindia.products.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Deletes products with too many items to remove within one request. Items go in chunks of
+ * {@code products.delete.chunk-size}, each in its own transaction, so locks on {@code item}
+ * are only held for one chunk at a time; the product row goes last together with any items
+ * added while the job ran. Status is kept in memory until {@code products.delete.status-ttl}
+ * after the job finishes.
+ */
+@Service
+@Slf4j
+public class ProductDeletionService {
+
+    private final ItemRepository itemRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final int chunkSize;
+    private final Cache<String, Job> jobs;
+    private final Map<Long, Job> runningByProduct = new ConcurrentHashMap<>();
+
+    public ProductDeletionService(ItemRepository itemRepository,
+                                  ProductRepository productRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("taskExecutor") Executor taskExecutor,
+                                  @Value("${products.delete.chunk-size:1000}") int chunkSize,
+                                  @Value("${products.delete.status-ttl:1h}") Duration statusTtl) {
+        this.itemRepository = itemRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new AfterFinished(statusTtl))
+                .build();
+    }
+
+    /**
+     * Starts deleting {@code productId} in the background, or returns the job already doing
+     * so. {@code onDeleted} runs once the product row is gone.
+     */
+    public ProductDeletionStatus submit(Long productId, long itemCount, Runnable onDeleted) {
+        Job created = new Job(UUID.randomUUID().toString(), productId, itemCount);
+        Job job = runningByProduct.computeIfAbsent(productId, id -> created);
+        if (job != created) {
+            return job.toStatus();
+        }
+        jobs.put(job.id, job);
+        try {
+            taskExecutor.execute(() -> run(job, onDeleted));
+        } catch (RejectedExecutionException e) {
+            runningByProduct.remove(productId);
+            jobs.invalidate(job.id);
+            throw new ServiceBusyException("Too many background jobs, please retry shortly", Duration.ofSeconds(30));
+        }
+        log.info("Deleting product {} with {} items in the background as job {}", productId, itemCount, job.id);
+        return job.toStatus();
+    }
+
+    public ProductDeletionStatus getStatus(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Product deletion", "id", jobId);
+        }
+        return job.toStatus();
+    }
+
+    private void run(Job job, Runnable onDeleted) {
+        job.state = ProductDeletionStatus.State.RUNNING;
+        try {
+            List<Long> chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = itemRepository.findIdsByProductId(job.productId, PageRequest.ofSize(chunkSize));
+                    if (!ids.isEmpty()) {
+                        itemRepository.deleteAllByIdInBatch(ids);
+                    }
+                    return ids;
+                });
+                job.deletedItems += chunk.size();
+            } while (chunk.size() == chunkSize);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                job.deletedItems += itemRepository.deleteByProductId(job.productId);
+                productRepository.deleteRowById(job.productId);
+            });
+            onDeleted.run();
+            job.finish(ProductDeletionStatus.State.COMPLETED, null);
+            log.info("Deleted product {} and {} items in job {}", job.productId, job.deletedItems, job.id);
+        } catch (RuntimeException e) {
+            log.error("Deleting product {} in job {} failed after {} items", job.productId, job.id, job.deletedItems, e);
+            job.finish(ProductDeletionStatus.State.FAILED, e.getMessage());
+        } finally {
+            runningByProduct.remove(job.productId, job);
+            jobs.put(job.id, job);
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final Long productId;
+        private final long totalItems;
+        private final Instant submittedAt = Instant.now();
+        private volatile ProductDeletionStatus.State state = ProductDeletionStatus.State.PENDING;
+        private volatile long deletedItems;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, Long productId, long totalItems) {
+            this.id = id;
+            this.productId = productId;
+            this.totalItems = totalItems;
+        }
+
+        private void finish(ProductDeletionStatus.State finalState, String failure) {
+            error = failure;
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private ProductDeletionStatus toStatus() {
+            return ProductDeletionStatus.builder()
+                    .jobId(id)
+                    .productId(productId)
+                    .state(state)
+                    .totalItems(totalItems)
+                    .deletedItems(deletedItems)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    /**
+     * Keeps running jobs indefinitely and finished ones for the status TTL; {@link #run}
+     * re-puts the job when it finishes so the TTL starts then.
+     */
+    private static final class AfterFinished implements Expiry<String, Job> {
+
+        private final long ttlNanos;
+
+        private AfterFinished(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Job job, long currentTime) {
+            return job.isFinished() ? ttlNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Job job, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Job job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
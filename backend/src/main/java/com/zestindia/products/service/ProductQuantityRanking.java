@@ -0,0 +1,144 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.config.ReadWriteRoutingDataSource;
+import com.zestindia.products.dto.projection.ProductQuantityTotal;
+import com.zestindia.products.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-product total item quantity, kept ordered so the top N products are read off the head
+ * of a skip list in O(N). Totals are loaded once at startup with a single grouped query.
+ * After that, item writes only mark their product as changed once they commit, and
+ * {@link #top(int)} recounts the changed products with one grouped query before reading.
+ * A write therefore costs no query and needs no quantity delta.
+ *
+ * <p>Each mark carries a stamp from one increasing sequence, and a recount result is kept
+ * only if the product's stamp is still the one seen before the query. A product written
+ * while its recount runs stays marked and is counted again on the next read. The marks come
+ * after commit, so a recount can never miss a write that is no longer marked. Until the
+ * build finishes, {@code top} returns {@link Optional#empty()} so callers fall back to the
+ * database. Both queries read from the primary, because a replica's lag would be kept as
+ * the product's total.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductQuantityRanking {
+
+    private static final Comparator<Ranked> BY_TOTAL_DESC = Comparator
+            .comparingLong(Ranked::total).reversed()
+            .thenComparingLong(Ranked::productId);
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, Long> totals = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> ranking = new ConcurrentSkipListSet<>(BY_TOTAL_DESC);
+    // product id -> stamp of its latest unrecounted write
+    private final Map<Long, Long> changed = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+    private volatile boolean ready;
+
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        List<ProductQuantityTotal> rows = ReadWriteRoutingDataSource.onPrimary(itemRepository::sumQuantityByProduct);
+        for (ProductQuantityTotal row : rows) {
+            // products written meanwhile are left to the recount, the grouped query may predate the write
+            totals.compute(row.getProductId(), (id, previous) -> changed.containsKey(id)
+                    ? previous
+                    : rank(id, previous, row.getTotalQuantity()));
+        }
+        ready = true;
+        log.info("Product quantity ranking built with {} products", totals.size());
+    }
+
+    /**
+     * Marks the product's total as out of date. Call after the write commits; a product
+     * that was deleted drops out of the ranking when its recount finds no items.
+     */
+    public void invalidate(Long productId) {
+        changed.put(productId, stamps.incrementAndGet());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code n} products with the highest total quantity, highest first and ties
+     * broken by ascending id, or empty while the startup build is still running.
+     */
+    public Optional<List<ProductQuantityTotal>> top(int n) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        recountChanged();
+        List<ProductQuantityTotal> top = new ArrayList<>(n);
+        for (Ranked ranked : ranking) {
+            if (top.size() == n) {
+                break;
+            }
+            top.add(ranked);
+        }
+        return Optional.of(top);
+    }
+
+    private void recountChanged() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> seen = new HashMap<>(changed);
+        Map<Long, Long> recounted = new HashMap<>();
+        for (ProductQuantityTotal row : ReadWriteRoutingDataSource.onPrimary(
+                () -> itemRepository.sumQuantityByProductIds(seen.keySet()))) {
+            recounted.put(row.getProductId(), row.getTotalQuantity());
+        }
+        seen.forEach((productId, stamp) -> {
+            long total = recounted.getOrDefault(productId, 0L);
+            totals.compute(productId, (id, previous) -> changed.remove(id, stamp)
+                    ? rank(id, previous, total)
+                    : previous);
+        });
+    }
+
+    private Long rank(Long productId, Long previous, long total) {
+        if (previous != null) {
+            ranking.remove(new Ranked(previous, productId));
+        }
+        if (total <= 0) {
+            return null;
+        }
+        ranking.add(new Ranked(total, productId));
+        return total;
+    }
+
+    private record Ranked(long total, long productId) implements ProductQuantityTotal {
+
+        @Override
+        public Long getProductId() {
+            return productId;
+        }
+
+        @Override
+        public long getTotalQuantity() {
+            return total;
+        }
+    }
+}
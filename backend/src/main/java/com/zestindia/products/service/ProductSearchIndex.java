@@ -0,0 +1,180 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.projection.ProductSearchDocument;
+import com.zestindia.products.entity.Product;
+import com.zestindia.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over product name and creator. Answers substring searches by
+ * intersecting posting lists, then confirms each candidate against the indexed text so the
+ * result matches the {@code LIKE '%term%'} semantics of {@link ProductRepository#searchProducts}.
+ * Terms shorter than a trigram, and any search made before the startup build finishes,
+ * return {@link Optional#empty()} so callers fall back to the database query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+
+    @Value("${search.index.build-batch-size:1000}")
+    private int buildBatchSize = 1000;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        long lastId = 0L;
+        int indexed = 0;
+        List<ProductSearchDocument> batch;
+        do {
+            batch = productRepository.findSearchDocumentsAfter(lastId, PageRequest.ofSize(buildBatchSize));
+            for (ProductSearchDocument row : batch) {
+                if (!removedDuringBuild.contains(row.getId())) {
+                    documents.computeIfAbsent(row.getId(), id -> index(id, row.getProductName(), row.getCreatedBy()));
+                    indexed++;
+                }
+                lastId = row.getId();
+            }
+        } while (batch.size() == buildBatchSize);
+        removedDuringBuild.clear();
+        ready = true;
+        log.info("Product search index built with {} products and {} trigrams", indexed, postings.size());
+    }
+
+    public void put(Product product) {
+        documents.compute(product.getId(), (id, previous) -> {
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            return index(id, product.getProductName(), product.getCreatedBy());
+        });
+    }
+
+    public void remove(Long productId) {
+        if (!ready) {
+            removedDuringBuild.add(productId);
+        }
+        documents.computeIfPresent(productId, (id, previous) -> {
+            unindex(id, previous);
+            return null;
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns ids of products whose name or creator contains {@code term}, in ascending id
+     * order, or empty when the index cannot answer and the database should be queried instead.
+     */
+    public Optional<List<Long>> search(String term) {
+        String needle = normalize(term);
+        if (!ready || needle.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Optional.of(List.of());
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> matches = new ArrayList<>();
+        Set<Long> smallest = lists.get(0);
+        for (Long id : smallest) {
+            if (containedInAll(id, lists) && matches(documents.get(id), needle)) {
+                matches.add(id);
+            }
+        }
+        matches.sort(Comparator.naturalOrder());
+        return Optional.of(matches);
+    }
+
+    private Document index(Long id, String productName, String createdBy) {
+        Document document = new Document(normalize(productName), normalize(createdBy));
+        for (String gram : document.grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        return document;
+    }
+
+    private void unindex(Long id, Document document) {
+        for (String gram : document.grams) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static boolean containedInAll(Long id, List<Set<Long>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Document document, String needle) {
+        return document != null && (document.productName.contains(needle) || document.createdBy.contains(needle));
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+
+        private final String productName;
+        private final String createdBy;
+        private final Set<String> grams;
+
+        private Document(String productName, String createdBy) {
+            this.productName = productName;
+            this.createdBy = createdBy;
+            this.grams = trigrams(productName);
+            this.grams.addAll(trigrams(createdBy));
+        }
+    }
+}
@@ -2,28 +2,57 @@ package com.zestindia.products.service;
 
 import com.zestindia.products.dto.request.ItemRequest;
 import com.zestindia.products.dto.request.ProductRequest;
+import com.zestindia.products.dto.response.BatchItemResponse;
+import com.zestindia.products.dto.response.CursorPageResponse;
 import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.dto.response.ProductQuantityResponse;
 import com.zestindia.products.dto.response.ProductResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ProductService {
 
     Page<ProductResponse> getAllProducts(String search, Pageable pageable);
 
+    CursorPageResponse<ProductResponse> scrollProducts(String cursor, int size, String sortBy, boolean descending);
+
     ProductResponse getProductById(Long id);
 
+    List<ProductQuantityResponse> getTopProducts(String by, int n);
+
     ProductResponse createProduct(ProductRequest request);
 
-    ProductResponse updateProduct(Long id, ProductRequest request);
+    /**
+     * @param expectedVersion the version the client last saw, or null to update whatever
+     *                        version is current; a mismatch throws {@code ConflictException}
+     */
+    ProductResponse updateProduct(Long id, ProductRequest request, Long expectedVersion);
 
-    void deleteProduct(Long id);
+    /**
+     * Deletes the product and its items, in the background when it has more items than
+     * {@code products.delete.async-threshold}; the returned status is {@code COMPLETED} for a
+     * synchronous delete and carries the job id otherwise.
+     */
+    ProductDeletionStatus deleteProduct(Long id);
+
+    ProductDeletionStatus getProductDeletion(String jobId);
 
     Page<ItemResponse> getItemsByProductId(Long productId, Pageable pageable);
 
+    CursorPageResponse<ItemResponse> scrollItems(Long productId, String cursor, int size);
+
     ItemResponse addItemToProduct(Long productId, ItemRequest request);
 
-    ItemResponse updateItem(Long productId, Long itemId, ItemRequest request);
+    BatchItemResponse addItemsToProduct(Long productId, List<ItemRequest> requests);
+
+    /**
+     * @param expectedVersion the version the client last saw, or null to update whatever
+     *                        version is current; a mismatch throws {@code ConflictException}
+     */
+    ItemResponse updateItem(Long productId, Long itemId, ItemRequest request, Long expectedVersion);
 
     void deleteItem(Long productId, Long itemId);
 }
@@ -1,24 +1,53 @@
 package com.zestindia.products.service;
 
+import com.zestindia.products.config.MetricsConfig;
+import com.zestindia.products.dto.projection.ItemSummary;
+import com.zestindia.products.dto.projection.ProductItemCount;
+import com.zestindia.products.dto.projection.ProductQuantityTotal;
+import com.zestindia.products.dto.projection.ProductSummary;
 import com.zestindia.products.dto.request.ItemRequest;
 import com.zestindia.products.dto.request.ProductRequest;
+import com.zestindia.products.dto.response.BatchItemResponse;
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import com.zestindia.products.dto.response.CursorPageResponse;
 import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.dto.response.ProductQuantityResponse;
 import com.zestindia.products.dto.response.ProductResponse;
 import com.zestindia.products.entity.Item;
 import com.zestindia.products.entity.Product;
+import com.zestindia.products.exception.BadRequestException;
+import com.zestindia.products.exception.ConflictException;
 import com.zestindia.products.exception.ResourceNotFoundException;
 import com.zestindia.products.repository.ItemRepository;
 import com.zestindia.products.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
+@Timed(MetricsConfig.PRODUCT_SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
@@ -26,24 +55,104 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ItemRepository itemRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCache productCache;
+    private final ProductQuantityRanking productQuantityRanking;
+    private final ProductDeletionService productDeletionService;
+    private final ProductChangeFeed productChangeFeed;
+
+    static final String RANK_BY_QUANTITY = "quantity";
+    static final int MAX_TOP_PRODUCTS = 100;
+    static final int MAX_SCROLL_SIZE = 100;
+    // beyond this many matches, pages not ordered by id use the LIKE query instead of an IN-list
+    static final int MAX_SEARCH_ID_LIST = 1000;
+
+    @Value("${products.delete.async-threshold:10000}")
+    private long asyncDeleteThreshold = 10000;
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(String search, Pageable pageable) {
-        Page<Product> products;
+        Page<ProductSummary> products;
         if (StringUtils.hasText(search)) {
-            products = productRepository.searchProducts(search, pageable);
+            products = productSearchIndex.search(search)
+                    .filter(ids -> isPagedById(pageable) || ids.size() <= MAX_SEARCH_ID_LIST)
+                    .map(ids -> findPageByIds(ids, pageable))
+                    .orElseGet(() -> productRepository.searchProducts(search, pageable));
         } else {
-            products = productRepository.findAll(pageable);
+            products = productRepository.findSummaries(pageable);
         }
-        return products.map(this::mapToProductResponse);
+        Map<Long, Long> itemCounts = countItemsByProductId(products.getContent());
+        return products.map(product -> mapToProductResponse(product, itemCounts.getOrDefault(product.getId(), 0L)));
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> scrollProducts(String cursor, int size, String sortBy, boolean descending) {
+        checkScrollSize(size);
+        ProductCursor position = StringUtils.hasText(cursor) ? ProductCursor.decode(cursor) : null;
+        if (position == null && !ProductCursor.isSupportedSort(sortBy)) {
+            throw new BadRequestException("Cursor paging supports sortBy 'id' or 'createdOn' only");
+        }
+        String keyColumn = position != null ? position.getSortBy() : sortBy;
+        boolean keyDescending = position != null ? position.isDescending() : descending;
+
+        List<ProductSummary> rows;
+        if (position != null) {
+            rows = findAfter(position, PageRequest.ofSize(size + 1));
+        } else {
+            Sort sort = Sort.by(keyDescending ? Sort.Direction.DESC : Sort.Direction.ASC, keyColumn, ProductCursor.SORT_ID);
+            rows = productRepository.findAllBy(PageRequest.of(0, size + 1, sort));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<ProductSummary> products = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, Long> itemCounts = countItemsByProductId(products);
+        String nextCursor = hasNext
+                ? ProductCursor.after(products.get(products.size() - 1), keyColumn, keyDescending).encode()
+                : null;
+
+        return CursorPageResponse.<ProductResponse>builder()
+                .content(products.stream()
+                        .map(product -> mapToProductResponse(product, itemCounts.getOrDefault(product.getId(), 0L)))
+                        .toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponse getProductById(Long id) {
-        Product product = findProductById(id);
-        return mapToProductResponse(product);
+        // SUPPORTS rather than a read-only transaction so a cache hit does not check out a connection;
+        // Caffeine already runs one load per key, so concurrent misses share it
+        return productCache.getProduct(id, productId ->
+                mapToProductResponse(findProductById(productId), itemRepository.countByProductId(productId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductQuantityResponse> getTopProducts(String by, int n) {
+        if (!RANK_BY_QUANTITY.equalsIgnoreCase(by)) {
+            throw new BadRequestException("Products can only be ranked by '" + RANK_BY_QUANTITY + "'");
+        }
+        if (n < 1 || n > MAX_TOP_PRODUCTS) {
+            throw new BadRequestException("n must be between 1 and " + MAX_TOP_PRODUCTS);
+        }
+        List<ProductQuantityTotal> totals = productQuantityRanking.top(n)
+                .orElseGet(() -> itemRepository.findTopQuantityTotals(PageRequest.ofSize(n)));
+        Map<Long, String> names = productRepository.findAllById(
+                        totals.stream().map(ProductQuantityTotal::getProductId).toList()).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getProductName));
+        return totals.stream()
+                .filter(total -> names.containsKey(total.getProductId()))
+                .map(total -> ProductQuantityResponse.builder()
+                        .productId(total.getProductId())
+                        .productName(names.get(total.getProductId()))
+                        .totalQuantity(total.getTotalQuantity())
+                        .build())
+                .toList();
     }
 
     @Override
@@ -52,32 +161,95 @@ public class ProductServiceImpl implements ProductService {
                 .productName(request.getProductName())
                 .build();
         Product saved = productRepository.save(product);
+        afterCommit(() -> {
+            productSearchIndex.put(saved);
+            productChangeFeed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, saved.getId(), null);
+        });
         log.debug("Created product with id: {}", saved.getId());
-        return mapToProductResponse(saved);
+        return mapToProductResponse(saved, 0L);
     }
 
     @Override
-    public ProductResponse updateProduct(Long id, ProductRequest request) {
+    public ProductResponse updateProduct(Long id, ProductRequest request, Long expectedVersion) {
         Product product = findProductById(id);
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw conflict("Product", id, expectedVersion, product.getVersion());
+        }
         product.setProductName(request.getProductName());
-        Product updated = productRepository.save(product);
+        // flushed here so the response carries the new version and audit columns, and a concurrent
+        // update fails the versioned UPDATE now rather than at commit
+        Product updated = productRepository.saveAndFlush(product);
+        afterCommit(() -> {
+            productSearchIndex.put(updated);
+            productCache.evictProduct(id);
+            productChangeFeed.publish(ProductChangeEvent.Type.PRODUCT_UPDATED, id, null);
+        });
         log.debug("Updated product with id: {}", updated.getId());
-        return mapToProductResponse(updated);
+        return mapToProductResponse(updated, itemRepository.countByProductId(id));
     }
 
     @Override
-    public void deleteProduct(Long id) {
-        Product product = findProductById(id);
-        productRepository.delete(product);
-        log.debug("Deleted product with id: {}", id);
+    public ProductDeletionStatus deleteProduct(Long id) {
+        if (!productRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Product", "id", id);
+        }
+        long itemCount = itemRepository.countByProductId(id);
+        if (itemCount > asyncDeleteThreshold) {
+            return productDeletionService.submit(id, itemCount, () -> forgetProduct(id));
+        }
+        // bulk deletes rather than the orphanRemoval cascade, which loads and deletes items one by one
+        int deletedItems = itemRepository.deleteByProductId(id);
+        productRepository.deleteRowById(id);
+        afterCommit(() -> forgetProduct(id));
+        log.debug("Deleted product with id: {} and {} items", id, deletedItems);
+        return ProductDeletionStatus.builder()
+                .productId(id)
+                .state(ProductDeletionStatus.State.COMPLETED)
+                .totalItems(itemCount)
+                .deletedItems(deletedItems)
+                .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductDeletionStatus getProductDeletion(String jobId) {
+        return productDeletionService.getStatus(jobId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<ItemResponse> getItemsByProductId(Long productId, Pageable pageable) {
-        findProductById(productId);
-        return itemRepository.findByProductId(productId, pageable)
-                .map(this::mapToItemResponse);
+        return productCache.getItems(productId, pageable, () -> {
+            Page<ItemSummary> items = itemRepository.findByProductId(productId, pageable);
+            // rows carry the product name, so the product is only looked up to tell an unknown id from no items
+            if (items.isEmpty() && !productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+            return items.map(ProductServiceImpl::mapToItemResponse);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemResponse> scrollItems(Long productId, String cursor, int size) {
+        checkScrollSize(size);
+        long afterId = StringUtils.hasText(cursor) ? ItemCursor.decode(cursor, productId) : 0L;
+        List<ItemSummary> rows = itemRepository.findNextByProductId(productId, afterId, PageRequest.ofSize(size + 1));
+        if (rows.isEmpty()) {
+            // existence check from the product cache; no count query is run
+            getProductById(productId);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<ItemSummary> items = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<ItemResponse>builder()
+                .content(items.stream()
+                        .map(ProductServiceImpl::mapToItemResponse)
+                        .toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? ItemCursor.encode(productId, items.get(items.size() - 1).getId()) : null)
+                .build();
     }
 
     @Override
@@ -88,24 +260,100 @@ public class ProductServiceImpl implements ProductService {
                 .quantity(request.getQuantity())
                 .build();
         Item saved = itemRepository.save(item);
+        afterCommit(() -> {
+            productCache.evictProduct(productId);
+            productQuantityRanking.invalidate(productId);
+            productChangeFeed.publish(ProductChangeEvent.Type.ITEM_CREATED, productId, saved.getId());
+        });
         return mapToItemResponse(saved);
     }
 
     @Override
-    public ItemResponse updateItem(Long productId, Long itemId, ItemRequest request) {
-        findProductById(productId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
-        item.setQuantity(request.getQuantity());
-        return mapToItemResponse(itemRepository.save(item));
+    public BatchItemResponse addItemsToProduct(Long productId, List<ItemRequest> requests) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        List<Integer> quantities = requests.stream()
+                .map(ItemRequest::getQuantity)
+                .toList();
+        int created = itemRepository.insertAll(productId, quantities);
+        afterCommit(() -> {
+            productCache.evictProduct(productId);
+            productQuantityRanking.invalidate(productId);
+            productChangeFeed.publish(ProductChangeEvent.Type.ITEMS_CREATED, productId, null);
+        });
+        log.debug("Added {} items to product with id: {}", created, productId);
+        return BatchItemResponse.builder()
+                .productId(productId)
+                .createdCount(created)
+                .build();
+    }
+
+    @Override
+    public ItemResponse updateItem(Long productId, Long itemId, ItemRequest request, Long expectedVersion) {
+        long version = expectedVersion != null
+                ? expectedVersion
+                : itemRepository.findVersion(itemId, productId).orElseThrow(() -> itemNotFound(productId, itemId));
+        if (itemRepository.updateQuantity(itemId, productId, request.getQuantity(), version) == 0) {
+            throw itemRepository.findVersion(itemId, productId)
+                    .<RuntimeException>map(current -> conflict("Item", itemId, version, current))
+                    .orElseGet(() -> itemNotFound(productId, itemId));
+        }
+        // the old quantity is never read, so the ranking recounts this product on its next read
+        afterCommit(() -> {
+            productCache.evictItems(productId);
+            productQuantityRanking.invalidate(productId);
+            productChangeFeed.publish(ProductChangeEvent.Type.ITEM_UPDATED, productId, itemId);
+        });
+        // item writes leave the cached product details valid; on a miss the name is left out
+        // rather than costing another query
+        ProductResponse cached = productCache.getCachedProduct(productId);
+        return ItemResponse.builder()
+                .id(itemId)
+                .productId(productId)
+                .productName(cached != null ? cached.getProductName() : null)
+                .quantity(request.getQuantity())
+                .version(version + 1)
+                .build();
     }
 
     @Override
     public void deleteItem(Long productId, Long itemId) {
-        findProductById(productId);
+        // the product proxy's id is read without loading the product
         Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+                .filter(found -> found.getProduct().getId().equals(productId))
+                .orElseThrow(() -> itemNotFound(productId, itemId));
         itemRepository.delete(item);
+        afterCommit(() -> {
+            productCache.evictProduct(productId);
+            productQuantityRanking.invalidate(productId);
+            productChangeFeed.publish(ProductChangeEvent.Type.ITEM_DELETED, productId, itemId);
+        });
+    }
+
+    private void forgetProduct(Long id) {
+        productSearchIndex.remove(id);
+        productCache.evictProduct(id);
+        productQuantityRanking.invalidate(id);
+        productChangeFeed.publish(ProductChangeEvent.Type.PRODUCT_DELETED, id, null);
+    }
+
+    private static void checkScrollSize(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+    }
+
+    private ResourceNotFoundException itemNotFound(Long productId, Long itemId) {
+        if (!productRepository.existsById(productId)) {
+            return new ResourceNotFoundException("Product", "id", productId);
+        }
+        return new ResourceNotFoundException("Item", "id", itemId);
+    }
+
+    private static ConflictException conflict(String resource, Long id, long expectedVersion, long currentVersion) {
+        return new ConflictException(String.format("%s %d has been modified: expected version %d but it is at %d",
+                resource, id, expectedVersion, currentVersion));
     }
 
     private Product findProductById(Long id) {
@@ -113,7 +361,91 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
-    private ProductResponse mapToProductResponse(Product product) {
+    /**
+     * Whether a page of index matches can be cut from the id list itself, so only that page's
+     * ids are sent to the database.
+     */
+    private static boolean isPagedById(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        Sort.Order idOrder = sort.getOrderFor("id");
+        return pageable.isPaged() && (sort.isUnsorted() || (idOrder != null && sort.stream().count() == 1));
+    }
+
+    private Page<ProductSummary> findPageByIds(List<Long> ids, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (!isPagedById(pageable)) {
+            return productRepository.findByIdIn(ids, pageable);
+        }
+
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        List<Long> ordered = idOrder != null && idOrder.isDescending() ? reversed(ids) : ids;
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(from + pageable.getPageSize(), ordered.size());
+        List<Long> pageIds = ordered.subList(from, to);
+        Map<Long, ProductSummary> byId = productRepository.findByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ProductSummary::getId, Function.identity()));
+        List<ProductSummary> content = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private List<ProductSummary> findAfter(ProductCursor position, Pageable limit) {
+        if (ProductCursor.SORT_CREATED_ON.equals(position.getSortBy())) {
+            return position.isDescending()
+                    ? productRepository.findPreviousByCreatedOn(position.createdOn(), position.getId(), limit)
+                    : productRepository.findNextByCreatedOn(position.createdOn(), position.getId(), limit);
+        }
+        return position.isDescending()
+                ? productRepository.findPreviousById(position.getId(), limit)
+                : productRepository.findNextById(position.getId(), limit);
+    }
+
+    private Map<Long, Long> countItemsByProductId(List<ProductSummary> products) {
+        if (products.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> productIds = products.stream().map(ProductSummary::getId).toList();
+        return itemRepository.countByProductIds(productIds).stream()
+                .collect(Collectors.toMap(ProductItemCount::getProductId, ProductItemCount::getItemCount));
+    }
+
+    ProductResponse mapToProductResponse(Product product, long itemCount) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .productName(product.getProductName())
+                .createdBy(product.getCreatedBy())
+                .createdOn(product.getCreatedOn())
+                .modifiedBy(product.getModifiedBy())
+                .modifiedOn(product.getModifiedOn())
+                .itemCount((int) itemCount)
+                .version(product.getVersion())
+                .build();
+    }
+
+    private static ProductResponse mapToProductResponse(ProductSummary product, long itemCount) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .productName(product.getProductName())
@@ -121,16 +453,28 @@ public class ProductServiceImpl implements ProductService {
                 .createdOn(product.getCreatedOn())
                 .modifiedBy(product.getModifiedBy())
                 .modifiedOn(product.getModifiedOn())
-                .itemCount(product.getItems() != null ? product.getItems().size() : 0)
+                .itemCount((int) itemCount)
+                .version(product.getVersion())
                 .build();
     }
 
-    private ItemResponse mapToItemResponse(Item item) {
+    ItemResponse mapToItemResponse(Item item) {
         return ItemResponse.builder()
                 .id(item.getId())
                 .productId(item.getProduct().getId())
                 .productName(item.getProduct().getProductName())
                 .quantity(item.getQuantity())
+                .version(item.getVersion())
+                .build();
+    }
+
+    private static ItemResponse mapToItemResponse(ItemSummary item) {
+        return ItemResponse.builder()
+                .id(item.getId())
+                .productId(item.getProductId())
+                .productName(item.getProductName())
+                .quantity(item.getQuantity())
+                .version(item.getVersion())
                 .build();
     }
 }
@@ -6,36 +6,44 @@ import com.zestindia.products.exception.TokenRefreshException;
 import com.zestindia.products.repository.RefreshTokenRepository;
 import com.zestindia.products.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
 
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenDurationMs;
 
+    @Value("${jwt.refresh-purge.batch-size:500}")
+    private int purgeBatchSize = 500;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
 
-    public RefreshToken createRefreshToken(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        refreshTokenRepository.findByUser(user).ifPresent(refreshTokenRepository::delete);
-
+    /**
+     * Issues a new refresh token for {@code user}, replacing any existing one with a single
+     * upsert on the unique {@code user_id} column instead of select, delete and insert.
+     */
+    @Transactional
+    public RefreshToken createRefreshToken(User user) {
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
                 .token(UUID.randomUUID().toString())
                 .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
                 .build();
-
-        return refreshTokenRepository.save(refreshToken);
+        refreshTokenRepository.upsertForUser(user.getId(), refreshToken.getToken(), refreshToken.getExpiryDate());
+        return refreshToken;
     }
 
     public RefreshToken verifyExpiration(RefreshToken token) {
@@ -47,6 +55,10 @@ public class RefreshTokenService {
         return token;
     }
 
+    /**
+     * Read-write so that, with read replicas enabled, tokens are looked up on the primary.
+     */
+    @Transactional
     public RefreshToken findByToken(String token) {
         return refreshTokenRepository.findByToken(token)
                 .orElseThrow(() -> new TokenRefreshException(token, "Refresh token not found"));
@@ -56,4 +68,26 @@ public class RefreshTokenService {
     public void deleteByUsername(String username) {
         userRepository.findByUsername(username).ifPresent(refreshTokenRepository::deleteByUser);
     }
+
+    /**
+     * Deletes expired tokens a batch at a time, each batch in its own short transaction and by
+     * primary key, so the purge never holds range locks on {@code refresh_tokens} for long.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh-purge.interval:PT1H}",
+            fixedDelayString = "${jwt.refresh-purge.interval:PT1H}")
+    public void purgeExpiredTokens() {
+        Instant now = Instant.now();
+        long purged = 0;
+        List<Long> expired;
+        do {
+            expired = refreshTokenRepository.findExpiredIds(now, PageRequest.ofSize(purgeBatchSize));
+            if (!expired.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(expired);
+                purged += expired.size();
+            }
+        } while (expired.size() == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
 }
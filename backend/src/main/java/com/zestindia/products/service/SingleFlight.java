@@ -0,0 +1,74 @@
+package com.zestindia.products.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the load and
+ * every caller that arrives while it is in flight waits for and shares its result or
+ * exception. The entry is removed as soon as the load finishes, so nothing is cached and a
+ * caller arriving afterwards starts a fresh load.
+ */
+final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    SingleFlight(String name) {
+        this.name = name;
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("products.single_flight.loads", loads, LongAdder::sum)
+                .description("Loads that ran against the database")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("products.single_flight.collapsed", collapsed, LongAdder::sum)
+                .description("Calls that shared another caller's in-flight load")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
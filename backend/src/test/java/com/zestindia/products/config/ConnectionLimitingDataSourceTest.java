@@ -0,0 +1,71 @@
+package com.zestindia.products.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionLimitingDataSource Unit Tests")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 1, 50L);
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed, releasing it only once")
+    void getConnection_HoldsPermitUntilClose() throws SQLException {
+        Connection physical = mock(Connection.class);
+        given(target.getConnection()).willReturn(physical);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(physical, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Should time out when every permit is taken")
+    void getConnection_PoolExhausted_TimesOut() throws SQLException {
+        given(target.getConnection()).willReturn(mock(Connection.class));
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the target fails to provide a connection")
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        given(target.getConnection()).willThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.zestindia.products.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.service.ProductCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica and read-write ones to the primary")
+    void routesByTransactionReadOnlyFlag() {
+        TransactionTemplate tx = transactions(new ReadWriteRoutingDataSource(primary, List.of(replica), Duration.ZERO));
+
+        assertThat(serverName(tx, true)).isEqualTo("replica");
+        assertThat(serverName(tx, false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when no replica is healthy")
+    void unhealthyReplica_FallsBackToPrimary() {
+        DriverManagerDataSource broken = new DriverManagerDataSource("jdbc:h2:mem:broken;IFEXISTS=TRUE");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(broken), Duration.ZERO);
+        routing.checkReplicas();
+
+        assertThat(serverName(transactions(routing), true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep a replica whose pool is busy in rotation without waiting for a connection")
+    void busyReplica_StaysHealthy() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        try (pool) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(pool), Duration.ZERO);
+            try (Connection busy = pool.getConnection()) {
+                long started = System.nanoTime();
+                routing.checkReplicas();
+                assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(250));
+            }
+
+            assertThat(serverName(transactions(routing), true)).isEqualTo("replica");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary within the stickiness window after a write")
+    void recentWriter_ReadsFromPrimary() {
+        TransactionTemplate tx = transactions(new ReadWriteRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, List.of()));
+
+        assertThat(serverName(tx, true)).isEqualTo("replica");
+        serverName(tx, false);
+        assertThat(serverName(tx, true)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader", null, List.of()));
+        assertThat(serverName(tx, true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should fill ProductCache from the primary even inside a read-only transaction")
+    void cacheFill_ReadsFromPrimary() {
+        TransactionTemplate tx = transactions(new ReadWriteRoutingDataSource(primary, List.of(replica), Duration.ZERO));
+        tx.setReadOnly(true);
+        ProductCache cache = new ProductCache(Duration.ofMinutes(1), 10L);
+
+        ProductResponse product = tx.execute(status -> cache.getProduct(1L, id -> ProductResponse.builder()
+                .id(id)
+                .productName(jdbcTemplate.queryForObject("SELECT name FROM server", String.class))
+                .build()));
+        Page<ItemResponse> items = tx.execute(status -> cache.getItems(1L, PageRequest.of(0, 10), () -> new PageImpl<>(
+                List.of(ItemResponse.builder()
+                        .productName(jdbcTemplate.queryForObject("SELECT name FROM server", String.class))
+                        .build()))));
+
+        assertThat(product.getProductName()).isEqualTo("primary");
+        assertThat(items.getContent()).extracting(ItemResponse::getProductName).containsExactly("primary");
+        assertThat(serverName(tx, true)).isEqualTo("replica");
+    }
+
+    private TransactionTemplate transactions(ReadWriteRoutingDataSource routing) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private String serverName(TransactionTemplate tx, boolean readOnly) {
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbc.update("INSERT INTO server VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -1,31 +1,56 @@
 package com.zestindia.products.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zestindia.products.config.JacksonConfig;
+import com.zestindia.products.config.SecurityConfig;
 import com.zestindia.products.dto.request.ProductRequest;
+import com.zestindia.products.dto.response.BatchItemResponse;
+import com.zestindia.products.dto.response.CursorPageResponse;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
 import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.exception.ConflictException;
+import com.zestindia.products.security.CachingUserDetailsService;
+import com.zestindia.products.security.JwtTokenProvider;
+import com.zestindia.products.security.UserDetailsServiceImpl;
+import com.zestindia.products.service.CatalogExportFormat;
+import com.zestindia.products.service.CatalogExportService;
+import com.zestindia.products.service.ProductChangeFeed;
 import com.zestindia.products.service.ProductService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import({SecurityConfig.class, JacksonConfig.class, ProductJsonCache.class, ProductEventStream.class,
+        ProductChangeFeed.class})
 @ActiveProfiles("test")
 @DisplayName("ProductController Integration Tests")
 class ProductControllerTest {
@@ -36,9 +61,27 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductChangeFeed productChangeFeed;
+
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private CatalogExportService catalogExportService;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @MockBean
+    private CachingUserDetailsService cachingUserDetailsService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
     private ProductResponse buildProductResponse() {
         return ProductResponse.builder()
                 .id(1L)
@@ -54,7 +97,7 @@ class ProductControllerTest {
     @DisplayName("GET /api/v1/products - should return 200 with product page")
     void getAllProducts_ReturnsOk() throws Exception {
         ProductResponse product = buildProductResponse();
-        Page<ProductResponse> page = new PageImpl<>(List.of(product));
+        Page<ProductResponse> page = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
         given(productService.getAllProducts(any(), any())).willReturn(page);
 
         mockMvc.perform(get("/api/v1/products")
@@ -64,6 +107,77 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.content[0].productName").value("Test Product"));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products?fields= - should return only the requested product properties")
+    void getAllProducts_SparseFields_TrimsProducts() throws Exception {
+        Page<ProductResponse> page = new PageImpl<>(List.of(buildProductResponse()), PageRequest.of(0, 10), 1);
+        given(productService.getAllProducts(any(), any())).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/products").param("fields", "id, productName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.totalElements").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(1L))
+                .andExpect(jsonPath("$.data.content[0].productName").value("Test Product"))
+                .andExpect(jsonPath("$.data.content[0].createdBy").doesNotExist())
+                .andExpect(jsonPath("$.data.content[0].itemCount").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products?fields= - should return 400 for an unknown property")
+    void getAllProducts_UnknownField_ReturnsBadRequest() throws Exception {
+        Page<ProductResponse> page = new PageImpl<>(List.of(buildProductResponse()), PageRequest.of(0, 10), 1);
+        given(productService.getAllProducts(any(), any())).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/products").param("fields", "id,price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/scroll - should return 200 with cursor page")
+    void scrollProducts_ReturnsOk() throws Exception {
+        CursorPageResponse<ProductResponse> page = CursorPageResponse.<ProductResponse>builder()
+                .content(List.of(buildProductResponse()))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("abc")
+                .build();
+        given(productService.scrollProducts(isNull(), eq(1), eq("createdOn"), eq(true))).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/products/scroll")
+                        .param("size", "1")
+                        .param("sortBy", "createdOn")
+                        .param("sortDir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1L))
+                .andExpect(jsonPath("$.data.nextCursor").value("abc"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id}/items/scroll - should return a cursor page without totals")
+    void scrollItems_ReturnsOk() throws Exception {
+        CursorPageResponse<ItemResponse> page = CursorPageResponse.<ItemResponse>builder()
+                .content(List.of(ItemResponse.builder().id(5L).productId(1L).quantity(2).build()))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("abc")
+                .build();
+        given(productService.scrollItems(eq(1L), eq("xyz"), eq(1))).willReturn(page);
+
+        mockMvc.perform(get("/api/v1/products/1/items/scroll")
+                        .param("cursor", "xyz")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(5L))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/v1/products/{id} - should return 200 with product")
@@ -75,6 +189,144 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.id").value(1L));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id} - should return 304 when If-None-Match matches the ETag")
+    void getProductById_MatchingETag_ReturnsNotModified() throws Exception {
+        given(productService.getProductById(1L)).willReturn(buildProductResponse());
+        String etag = mockMvc.perform(get("/api/v1/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id}?fields= - should trim the product and tag it separately")
+    void getProductById_SparseFields_TrimsProduct() throws Exception {
+        given(productService.getProductById(1L)).willReturn(buildProductResponse());
+        String etag = mockMvc.perform(get("/api/v1/products/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String trimmedEtag = mockMvc.perform(get("/api/v1/products/1")
+                        .param("fields", "id,productName")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.productName").value("Test Product"))
+                .andExpect(jsonPath("$.data.createdBy").doesNotExist())
+                .andExpect(jsonPath("$.data.itemCount").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/1")
+                        .param("fields", "id,productName")
+                        .header("If-None-Match", trimmedEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id}?fields= - should return 400 for an unknown property")
+    void getProductById_UnknownField_ReturnsBadRequest() throws Exception {
+        given(productService.getProductById(1L)).willReturn(buildProductResponse());
+
+        mockMvc.perform(get("/api/v1/products/1").param("fields", "id,price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id}/items - should change the ETag when an item quantity changes")
+    void getItemsByProduct_ETagTracksContent() throws Exception {
+        PageRequest pageable = PageRequest.of(0, 10);
+        ItemResponse item = ItemResponse.builder().id(5L).productId(1L).productName("Test Product").quantity(2).build();
+        given(productService.getItemsByProductId(1L, pageable))
+                .willReturn(new PageImpl<>(List.of(item), pageable, 1));
+        String etag = mockMvc.perform(get("/api/v1/products/1/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/1/items").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        item.setQuantity(3);
+        mockMvc.perform(get("/api/v1/products/1/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].quantity").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/{id}/items?fields= - should trim items and tag the trimmed page separately")
+    void getItemsByProduct_SparseFields_OwnETag() throws Exception {
+        PageRequest pageable = PageRequest.of(0, 10);
+        ItemResponse item = ItemResponse.builder().id(5L).productId(1L).productName("Test Product").quantity(2).build();
+        given(productService.getItemsByProductId(1L, pageable))
+                .willReturn(new PageImpl<>(List.of(item), pageable, 1));
+        String etag = mockMvc.perform(get("/api/v1/products/1/items"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/1/items")
+                        .param("fields", "id,quantity")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.data.content[0].quantity").value(2))
+                .andExpect(jsonPath("$.data.content[0].productName").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PUT /api/v1/products/{id}/items/{itemId} - should pass the If-Match version and return the new ETag")
+    void updateItem_IfMatch_PassesExpectedVersion() throws Exception {
+        ItemResponse updated = ItemResponse.builder().id(5L).productId(1L).productName("Test Product")
+                .quantity(7).version(4L).build();
+        given(productService.updateItem(eq(1L), eq(5L), any(), eq(3L))).willReturn(updated);
+
+        mockMvc.perform(put("/api/v1/products/1/items/5")
+                        .with(csrf())
+                        .header("If-Match", "\"item5-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":7}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"item5-4\""))
+                .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PUT /api/v1/products/{id} - should return 409 when the version no longer matches")
+    void updateProduct_StaleIfMatch_ReturnsConflict() throws Exception {
+        given(productService.updateProduct(eq(1L), any(), eq(2L)))
+                .willThrow(new ConflictException("Product 1 has been modified"));
+
+        mockMvc.perform(put("/api/v1/products/1")
+                        .with(csrf())
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productName\":\"Renamed\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PUT /api/v1/products/{id} - should reject an If-Match tag issued for another product")
+    void updateProduct_ForeignIfMatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(put("/api/v1/products/1")
+                        .with(csrf())
+                        .header("If-Match", "\"p2-0-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productName\":\"Renamed\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("POST /api/v1/products - should create and return 201")
@@ -106,16 +358,111 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/v1/products/{id}/items/batch - should create items and return 201")
+    void addItemsBatch_ReturnsCreated() throws Exception {
+        given(productService.addItemsToProduct(eq(1L), anyList()))
+                .willReturn(BatchItemResponse.builder().productId(1L).createdCount(2).build());
+
+        mockMvc.perform(post("/api/v1/products/1/items/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"quantity\":1},{\"quantity\":5}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.createdCount").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/v1/products/{id}/items/batch - should return 400 for an invalid item")
+    void addItemsBatch_InvalidItem_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/products/1/items/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"quantity\":1},{\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/export - should stream the catalog as NDJSON")
+    void exportCatalog_Ndjson_StreamsBody() throws Exception {
+        willAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"type\":\"product\"}\n".getBytes());
+            return null;
+        }).given(catalogExportService).export(eq(CatalogExportFormat.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"type\":\"product\"}\n"));
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/events - should stream changes to the requested product")
+    void streamEvents_ProductFilter_StreamsMatchingChanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/products/events")
+                        .param("productId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        productChangeFeed.publish(ProductChangeEvent.Type.ITEM_CREATED, 2L, 20L);
+        productChangeFeed.publish(ProductChangeEvent.Type.ITEM_CREATED, 1L, 10L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains("\"itemId\":10")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = result.getResponse().getContentAsString();
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(body).contains("\"type\":\"ITEM_CREATED\"", "\"itemId\":10");
+        assertThat(body).doesNotContain("\"itemId\":20");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/v1/products/export - should return 400 for an unknown format")
+    void exportCatalog_UnknownFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("DELETE /api/v1/products/{id} - admin should return 200")
     void deleteProduct_AsAdmin_ReturnsOk() throws Exception {
+        given(productService.deleteProduct(1L)).willReturn(ProductDeletionStatus.builder()
+                .productId(1L).state(ProductDeletionStatus.State.COMPLETED).build());
+
         mockMvc.perform(delete("/api/v1/products/1")
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/v1/products/{id} - should return 202 with the job location for a background delete")
+    void deleteProduct_Background_ReturnsAccepted() throws Exception {
+        given(productService.deleteProduct(1L)).willReturn(ProductDeletionStatus.builder()
+                .jobId("job-1").productId(1L).state(ProductDeletionStatus.State.PENDING).totalItems(50_000L).build());
+
+        mockMvc.perform(delete("/api/v1/products/1")
+                        .with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/products/deletions/job-1"))
+                .andExpect(jsonPath("$.data.state").value("PENDING"));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("DELETE /api/v1/products/{id} - user should return 403")
@@ -0,0 +1,95 @@
+package com.zestindia.products.controller;
+
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import com.zestindia.products.service.ProductChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductEventStream Unit Tests")
+class ProductEventStreamTest {
+
+    private final ProductChangeFeed changeFeed = new ProductChangeFeed(16, 16);
+    private final ProductEventStream eventStream = new ProductEventStream(changeFeed, Duration.ofMinutes(1), 2);
+
+    @AfterEach
+    void tearDown() {
+        eventStream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write a connection's events one send at a time and in order when published during a send")
+    void publishDuringSend_WritesSeriallyInOrder() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        eventStream.open(null, null, emitter);
+
+        changeFeed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, 1L, null);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        changeFeed.publish(ProductChangeEvent.Type.PRODUCT_UPDATED, 1L, null);
+        changeFeed.publish(ProductChangeEvent.Type.PRODUCT_DELETED, 1L, null);
+        // gives a second writer, if one was started, time to send alongside the blocked one
+        Thread.sleep(100);
+        emitter.release.countDown();
+
+        waitUntil(() -> emitter.sentIds.size() == 3);
+        assertThat(emitter.sentIds).containsExactly(1L, 2L, 3L);
+        assertThat(emitter.maxConcurrentSends).hasValue(1);
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records the id of each event sent and how many sends overlapped; the first send blocks
+     * until {@link #release} so that events can be published while it is in progress.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern ID = Pattern.compile("id:(\\d+)");
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Long> sentIds = new CopyOnWriteArrayList<>();
+        private final AtomicInteger activeSends = new AtomicInteger();
+        private final AtomicInteger maxConcurrentSends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            maxConcurrentSends.accumulateAndGet(activeSends.incrementAndGet(), Math::max);
+            try {
+                if (sending.getCount() > 0) {
+                    sending.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                StringBuilder text = new StringBuilder();
+                builder.build().forEach(part -> text.append(part.getData()));
+                Matcher id = ID.matcher(text);
+                if (id.find()) {
+                    sentIds.add(Long.valueOf(id.group(1)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeSends.decrementAndGet();
+            }
+        }
+    }
+}
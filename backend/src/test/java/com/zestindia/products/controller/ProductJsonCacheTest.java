@@ -0,0 +1,69 @@
+package com.zestindia.products.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zestindia.products.config.JacksonConfig;
+import com.zestindia.products.dto.response.ApiResponse;
+import com.zestindia.products.dto.response.ProductResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductJsonCache Unit Tests")
+class ProductJsonCacheTest {
+
+    private final ObjectMapper objectMapper = objectMapper();
+    private final ProductJsonCache cache = new ProductJsonCache(objectMapper, Duration.ofMinutes(5), 100L);
+
+    @Test
+    @DisplayName("Should write the same JSON as serializing ApiResponse.success")
+    void success_MatchesJacksonEnvelope() throws Exception {
+        ProductResponse product = product("Café \"Deluxe\"", 3L);
+
+        JsonNode fastPath = objectMapper.readTree(cache.success(ETags.forProduct(product), product));
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(ApiResponse.success(product)));
+
+        assertThat(LocalDateTime.parse(fastPath.get("timestamp").asText())).isNotNull();
+        ((ObjectNode) fastPath).remove("timestamp");
+        ((ObjectNode) expected).remove("timestamp");
+        assertThat(fastPath).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should reuse the payload for an unchanged tag and re-serialize when the tag moves")
+    void success_KeyedByEntityTag() throws Exception {
+        ProductResponse original = product("Original", 1L);
+        ProductResponse renamed = product("Renamed", 2L);
+        cache.success(ETags.forProduct(original), original);
+
+        JsonNode stale = objectMapper.readTree(cache.success(ETags.forProduct(original), renamed));
+        JsonNode fresh = objectMapper.readTree(cache.success(ETags.forProduct(renamed), renamed));
+
+        assertThat(stale.at("/data/productName").asText()).isEqualTo("Original");
+        assertThat(fresh.at("/data/productName").asText()).isEqualTo("Renamed");
+        assertThat(fresh.at("/data/version").asLong()).isEqualTo(2L);
+    }
+
+    private static ProductResponse product(String name, long version) {
+        return ProductResponse.builder()
+                .id(1L)
+                .productName(name)
+                .createdBy("alice")
+                .createdOn(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .itemCount(2)
+                .version(version)
+                .build();
+    }
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().sparseFieldsCustomizer().customize(builder);
+        return builder.modulesToInstall(new JacksonConfig().blackbirdModule()).build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.zestindia.products.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingUserDetailsService Unit Tests")
+class CachingUserDetailsServiceTest {
+
+    @Mock
+    private UserDetailsServiceImpl delegate;
+
+    private CachingUserDetailsService cachingUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        cachingUserDetailsService = new CachingUserDetailsService(delegate, Duration.ofMinutes(1), 100L);
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve repeats from the cache without the password")
+    void loadUserByUsername_Repeated_LoadsOnce() {
+        given(delegate.loadUserByUsername("alice")).willReturn(user("ROLE_USER"));
+
+        UserDetails first = cachingUserDetailsService.loadUserByUsername("alice");
+        UserDetails second = cachingUserDetailsService.loadUserByUsername("alice");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPassword()).isEmpty();
+        assertThat(first.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verify(delegate, times(1)).loadUserByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("Should reload authorities after eviction")
+    void evict_ThenLoad_ReturnsFreshAuthorities() {
+        given(delegate.loadUserByUsername("alice")).willReturn(user("ROLE_USER"), user("ROLE_ADMIN"));
+        cachingUserDetailsService.loadUserByUsername("alice");
+
+        cachingUserDetailsService.evict("alice");
+
+        assertThat(cachingUserDetailsService.loadUserByUsername("alice").getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void loadUserByUsername_Unknown_Propagates() {
+        given(delegate.loadUserByUsername("ghost")).willThrow(new UsernameNotFoundException("User not found: ghost"));
+
+        assertThatThrownBy(() -> cachingUserDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cachingUserDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(delegate, times(2)).loadUserByUsername("ghost");
+    }
+
+    private UserDetails user(String role) {
+        return User.withUsername("alice")
+                .password("$2a$10$hash")
+                .authorities(List.of(new SimpleGrantedAuthority(role)))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.zestindia.products.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtTokenProvider Unit Tests")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-zestindia";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry registry;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 100L);
+        registry = new SimpleMeterRegistry();
+        jwtTokenProvider.bindTo(registry);
+        userDetails = User.withUsername("testuser").password("secret").authorities(List.of()).build();
+    }
+
+    @Test
+    @DisplayName("Should verify a generated token and expose its subject")
+    void verify_ValidToken_ReturnsClaims() {
+        String token = jwtTokenProvider.generateToken(userDetails);
+
+        Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getUsername()).isEqualTo("testuser");
+        assertThat(jwtTokenProvider.isTokenValid(token, userDetails)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve repeat verifications of the same token from the cache")
+    void verify_RepeatedToken_HitsCache() {
+        String token = jwtTokenProvider.generateToken(userDetails);
+
+        jwtTokenProvider.verify(token);
+        jwtTokenProvider.verify(token);
+        jwtTokenProvider.verify(token);
+
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with a different key")
+    void verify_ForeignSignature_ReturnsEmpty() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET + "-other", 3600000L, 100L);
+        String token = other.generateToken(userDetails);
+
+        assertThat(jwtTokenProvider.verify(token)).isEmpty();
+        assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_ExpiredToken_ReturnsEmpty() {
+        JwtTokenProvider shortLived = new JwtTokenProvider(SECRET, -1000L, 100L);
+        String token = shortLived.generateToken(userDetails);
+
+        assertThat(jwtTokenProvider.verify(token)).isEmpty();
+    }
+}
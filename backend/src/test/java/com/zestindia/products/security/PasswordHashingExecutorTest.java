@@ -0,0 +1,65 @@
+package com.zestindia.products.security;
+
+import com.zestindia.products.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingExecutor Unit Tests")
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor =
+            new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(2));
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run tasks off the caller thread and time them")
+    void submit_RunsTaskAndRecordsTimers() throws Exception {
+        String result = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertThat(result).startsWith("PasswordHash-");
+        assertThat(meterRegistry.get("auth.hashing.execution").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.hashing.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately with a retry hint when the pool and queue are full")
+    void submit_QueueFull_ThrowsServiceBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+        CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+
+        assertThatThrownBy(() -> executor.submit(() -> true))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(ex -> assertThat(((ServiceBusyException) ex).getRetryAfter()).hasSeconds(2));
+        assertThat(meterRegistry.get("executor.rejected").tag("name", "passwordHashing").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
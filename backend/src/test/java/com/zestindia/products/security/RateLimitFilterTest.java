@@ -0,0 +1,171 @@
+package com.zestindia.products.security;
+
+import com.zestindia.products.config.RateLimitProperties;
+import com.zestindia.products.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(
+                group("auth", "/api/v1/auth/**", RateLimitProperties.KeyType.IP, limit(2, 1)),
+                group("products", "/api/v1/products/**", RateLimitProperties.KeyType.USER, limit(3, 1))));
+        properties.getGroups().get(1).getRoles().put(Role.ROLE_ADMIN, limit(5, 1));
+        filter = new RateLimitFilter(properties, new RateLimiter(properties, clock::get),
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should allow a burst of capacity, then reject with 429, Retry-After and RateLimit headers")
+    void burstThenReject() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = get("/api/v1/products");
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo(String.valueOf(2 - i));
+        }
+
+        MockHttpServletResponse rejected = get("/api/v1/products");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("3");
+        assertThat(rejected.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(rejected.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("3");
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"success\":false");
+    }
+
+    @Test
+    @DisplayName("Should refill tokens as time passes")
+    void refillsOverTime() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        for (int i = 0; i < 3; i++) {
+            get("/api/v1/products");
+        }
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(429);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(200);
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should give each user their own bucket and admins the role limit")
+    void bucketsPerUserAndRole() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        for (int i = 0; i < 3; i++) {
+            get("/api/v1/products");
+        }
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(429);
+
+        authenticate("root", "ROLE_ADMIN");
+        MockHttpServletResponse admin = get("/api/v1/products");
+
+        assertThat(admin.getStatus()).isEqualTo(200);
+        assertThat(admin.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("5");
+    }
+
+    @Test
+    @DisplayName("Should key auth endpoints by client IP even when a token is present")
+    void authKeyedByIp() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        get("/api/v1/auth/login", "10.0.0.1");
+        get("/api/v1/auth/login", "10.0.0.1");
+
+        assertThat(get("/api/v1/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(get("/api/v1/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should key auth endpoints by the forwarded client IP behind a proxy")
+    void authKeyedByForwardedIp() throws Exception {
+        getForwarded("/api/v1/auth/login", "203.0.113.5");
+        getForwarded("/api/v1/auth/login", "203.0.113.5");
+
+        assertThat(getForwarded("/api/v1/auth/login", "203.0.113.5").getStatus()).isEqualTo(429);
+        assertThat(getForwarded("/api/v1/auth/login", "203.0.113.6").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not limit paths outside every group")
+    void ungroupedPathNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = get("/actuator/health");
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        }
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        return get(path, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse get(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse getForwarded(String path, String clientIp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ForwardedHeaderFilter().doFilter(request, response,
+                (forwarded, res) -> filter.doFilter(forwarded, res, new MockFilterChain()));
+        return response;
+    }
+
+    private static void authenticate(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static RateLimitProperties.Group group(String name, String path, RateLimitProperties.KeyType key,
+                                                   RateLimitProperties.Limit limit) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName(name);
+        group.setPaths(List.of(path));
+        group.setKey(key);
+        group.setLimit(limit);
+        return group;
+    }
+
+    private static RateLimitProperties.Limit limit(long capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
@@ -0,0 +1,84 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.entity.Item;
+import com.zestindia.products.entity.Product;
+import com.zestindia.products.repository.ItemRepository;
+import com.zestindia.products.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogExportService Unit Tests")
+class CatalogExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private CatalogExportService catalogExportService;
+
+    private Product product;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .productName("Desk, \"Oak\"")
+                .createdBy("testuser")
+                .createdOn(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .build();
+        item = Item.builder().id(7L).product(product).quantity(3).build();
+        given(productRepository.streamAllOrderById()).willReturn(Stream.of(product));
+        given(itemRepository.streamAllOrderById()).willReturn(Stream.of(item));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line and detach each row")
+    void export_Ndjson_WritesLinePerRow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.export(CatalogExportFormat.NDJSON, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "{\"type\":\"product\",\"id\":1,\"productName\":\"Desk, \\\"Oak\\\"\",\"createdBy\":\"testuser\","
+                        + "\"createdOn\":\"2024-01-02T03:04:05\",\"modifiedBy\":null,\"modifiedOn\":null}",
+                "{\"type\":\"item\",\"id\":7,\"productId\":1,\"quantity\":3}");
+        verify(entityManager).detach(product);
+        verify(entityManager).detach(item);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote values that need escaping")
+    void export_Csv_EscapesValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.export(CatalogExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "record_type,id,product_id,product_name,created_by,created_on,modified_by,modified_on,quantity",
+                "product,1,1,\"Desk, \"\"Oak\"\"\",testuser,2024-01-02T03:04:05,,,",
+                "item,7,1,,,,,,3");
+    }
+}
@@ -0,0 +1,86 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.response.ItemResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductCache Unit Tests")
+class ProductCacheTest {
+
+    private final ProductCache productCache = new ProductCache(Duration.ofMinutes(5), 100L);
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    @Test
+    @DisplayName("Should not keep an item page whose load was in flight when the items were evicted")
+    void evictItems_DuringLoad_DiscardsLoadedPage() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Page<ItemResponse>> stale = CompletableFuture.supplyAsync(() ->
+                productCache.getItems(1L, firstPage, () -> {
+                    loading.countDown();
+                    await(release);
+                    return page(1);
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        productCache.evictItems(1L);
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+
+        assertThat(productCache.getItems(1L, firstPage, () -> page(2)).getContent()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should cache the first page per size and evict only the given product")
+    void getItems_CachesFirstPagePerProduct() {
+        AtomicInteger loads = new AtomicInteger();
+
+        productCache.getItems(1L, firstPage, () -> page(loads.incrementAndGet()));
+        productCache.getItems(2L, firstPage, () -> page(loads.incrementAndGet()));
+        productCache.getItems(1L, firstPage, () -> page(loads.incrementAndGet()));
+        productCache.evictItems(2L);
+        productCache.getItems(1L, firstPage, () -> page(loads.incrementAndGet()));
+        productCache.getItems(2L, firstPage, () -> page(loads.incrementAndGet()));
+        productCache.getItems(1L, PageRequest.of(1, 10), () -> page(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should load page shapes beyond the per-product limit without caching them")
+    void getItems_TooManyShapes_NotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int size = 1; size <= ProductCache.MAX_PAGE_SHAPES + 1; size++) {
+            productCache.getItems(1L, PageRequest.of(0, size), () -> page(loads.incrementAndGet()));
+        }
+
+        productCache.getItems(1L, PageRequest.of(0, ProductCache.MAX_PAGE_SHAPES + 1), () -> page(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(ProductCache.MAX_PAGE_SHAPES + 2);
+    }
+
+    private static Page<ItemResponse> page(int items) {
+        return new PageImpl<>(Collections.nCopies(items, ItemResponse.builder().build()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductChangeFeed Unit Tests")
+class ProductChangeFeedTest {
+
+    private final ProductChangeFeed feed = new ProductChangeFeed(4, 3);
+
+    @Test
+    @DisplayName("Should queue matching events for a product subscriber and signal it")
+    void publish_FiltersByProduct() {
+        AtomicInteger signals = new AtomicInteger();
+        ProductChangeFeed.Subscription subscription = feed.subscribe(1L, null, signals::incrementAndGet);
+
+        feed.publish(ProductChangeEvent.Type.PRODUCT_UPDATED, 1L, null);
+        feed.publish(ProductChangeEvent.Type.ITEM_CREATED, 2L, 10L);
+        feed.publish(ProductChangeEvent.Type.ITEM_DELETED, 1L, 11L);
+        ProductChangeFeed.Batch batch = subscription.poll();
+
+        assertThat(batch.resyncId()).isNull();
+        assertThat(batch.events()).extracting(ProductChangeEvent::getId).containsExactly(1L, 3L);
+        assertThat(batch.events()).extracting(ProductChangeEvent::getType)
+                .containsExactly(ProductChangeEvent.Type.PRODUCT_UPDATED, ProductChangeEvent.Type.ITEM_DELETED);
+        assertThat(signals).hasValue(2);
+        assertThat(subscription.poll().isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop the backlog of a subscriber that overflows and ask it to resync")
+    void publish_Overflow_DropsAndResyncs() {
+        ProductChangeFeed.Subscription subscription = feed.subscribe(null, null, () -> { });
+        for (long id = 1; id <= 4; id++) {
+            feed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, id, null);
+        }
+        feed.publish(ProductChangeEvent.Type.PRODUCT_DELETED, 1L, null);
+
+        ProductChangeFeed.Batch batch = subscription.poll();
+
+        assertThat(batch.resyncId()).isEqualTo(4L);
+        assertThat(batch.events()).extracting(ProductChangeEvent::getId).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("Should replay the events after Last-Event-ID from the history")
+    void subscribe_LastEventId_Replays() {
+        for (long id = 1; id <= 5; id++) {
+            feed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, id, null);
+        }
+
+        ProductChangeFeed.Batch batch = feed.subscribe(null, 3L, () -> { }).poll();
+
+        assertThat(batch.resyncId()).isNull();
+        assertThat(batch.events()).extracting(ProductChangeEvent::getId).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should ask a subscriber to resync when its Last-Event-ID left the history or is unknown")
+    void subscribe_LostLastEventId_Resyncs() {
+        for (long id = 1; id <= 6; id++) {
+            feed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, id, null);
+        }
+
+        ProductChangeFeed.Batch evicted = feed.subscribe(null, 1L, () -> { }).poll();
+        ProductChangeFeed.Batch fromFuture = feed.subscribe(null, 42L, () -> { }).poll();
+
+        assertThat(evicted.resyncId()).isEqualTo(6L);
+        assertThat(evicted.events()).isEmpty();
+        assertThat(fromFuture.resyncId()).isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("Should stop queueing events once unsubscribed")
+    void unsubscribe_StopsDelivery() {
+        ProductChangeFeed.Subscription subscription = feed.subscribe(null, null, () -> { });
+        feed.unsubscribe(subscription);
+
+        feed.publish(ProductChangeEvent.Type.PRODUCT_CREATED, 1L, null);
+
+        assertThat(subscription.poll().isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,112 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.exception.ResourceNotFoundException;
+import com.zestindia.products.repository.ItemRepository;
+import com.zestindia.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductDeletionService Unit Tests")
+class ProductDeletionServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private ProductDeletionService deletionService;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = queued::add;
+        deletionService = new ProductDeletionService(itemRepository, productRepository,
+                new TransactionTemplate(transactionManager), executor, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should delete items chunk by chunk, each in its own transaction, then the product")
+    void submit_DeletesInChunks() {
+        given(itemRepository.findIdsByProductId(1L, PageRequest.ofSize(2)))
+                .willReturn(List.of(10L, 11L), List.of(12L, 13L), List.of(14L));
+        given(itemRepository.deleteByProductId(1L)).willReturn(0);
+        AtomicBoolean deleted = new AtomicBoolean();
+
+        ProductDeletionStatus submitted = deletionService.submit(1L, 5L, () -> deleted.set(true));
+        assertThat(submitted.getState()).isEqualTo(ProductDeletionStatus.State.PENDING);
+        queued.forEach(Runnable::run);
+
+        ProductDeletionStatus status = deletionService.getStatus(submitted.getJobId());
+        assertThat(status.getState()).isEqualTo(ProductDeletionStatus.State.COMPLETED);
+        assertThat(status.getDeletedItems()).isEqualTo(5L);
+        assertThat(status.getFinishedAt()).isNotNull();
+        assertThat(deleted).isTrue();
+        verify(itemRepository).deleteAllByIdInBatch(List.of(10L, 11L));
+        verify(itemRepository).deleteAllByIdInBatch(List.of(14L));
+        verify(productRepository).deleteRowById(1L);
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should return the running job instead of starting a second one for the same product")
+    void submit_AlreadyRunning_ReturnsExistingJob() {
+        ProductDeletionStatus first = deletionService.submit(1L, 5L, () -> { });
+        ProductDeletionStatus second = deletionService.submit(1L, 5L, () -> { });
+
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should record a failed job and keep the product")
+    void submit_ChunkFails_MarksFailed() {
+        willThrow(new IllegalStateException("lock wait timeout"))
+                .given(itemRepository).findIdsByProductId(1L, PageRequest.ofSize(2));
+        AtomicBoolean deleted = new AtomicBoolean();
+
+        String jobId = deletionService.submit(1L, 5L, () -> deleted.set(true)).getJobId();
+        queued.forEach(Runnable::run);
+
+        ProductDeletionStatus status = deletionService.getStatus(jobId);
+        assertThat(status.getState()).isEqualTo(ProductDeletionStatus.State.FAILED);
+        assertThat(status.getError()).isEqualTo("lock wait timeout");
+        assertThat(deleted).isFalse();
+        verify(productRepository, never()).deleteRowById(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for an unknown job")
+    void getStatus_Unknown_ThrowsNotFound() {
+        assertThatThrownBy(() -> deletionService.getStatus("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.dto.projection.ProductQuantityTotal;
+import com.zestindia.products.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductQuantityRanking Unit Tests")
+class ProductQuantityRankingTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("Should rank products from the startup totals, highest first with ties by id")
+    void top_AfterRebuild_OrdersByTotalThenId() {
+        given(itemRepository.sumQuantityByProduct())
+                .willReturn(List.of(total(1L, 5L), total(2L, 9L), total(3L, 5L)));
+        ProductQuantityRanking ranking = new ProductQuantityRanking(itemRepository);
+        ranking.rebuild();
+
+        assertThat(ranking.top(3)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getProductId).containsExactly(2L, 1L, 3L));
+        assertThat(ranking.top(1)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getTotalQuantity).containsExactly(9L));
+    }
+
+    @Test
+    @DisplayName("Should recount changed products with one grouped query on the next read")
+    void invalidate_RecountsOnTop() {
+        given(itemRepository.sumQuantityByProduct()).willReturn(List.of(total(1L, 5L), total(2L, 9L)));
+        ProductQuantityRanking ranking = new ProductQuantityRanking(itemRepository);
+        ranking.rebuild();
+
+        ranking.invalidate(1L);
+        ranking.invalidate(2L);
+        given(itemRepository.sumQuantityByProductIds(anyCollection())).willReturn(List.of(total(1L, 20L)));
+
+        assertThat(ranking.top(10)).hasValueSatisfying(top -> {
+            assertThat(top).extracting(ProductQuantityTotal::getProductId).containsExactly(1L);
+            assertThat(top).extracting(ProductQuantityTotal::getTotalQuantity).containsExactly(20L);
+        });
+        ranking.top(10);
+        verify(itemRepository, times(1)).sumQuantityByProductIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should be empty before the build and recount products written during it")
+    void rebuild_WritesDuringBuild_AreRecounted() {
+        ProductQuantityRanking ranking = new ProductQuantityRanking(itemRepository);
+        assertThat(ranking.top(5)).isEmpty();
+
+        ranking.invalidate(1L);
+        given(itemRepository.sumQuantityByProduct()).willReturn(List.of(total(1L, 4L), total(2L, 3L)));
+        given(itemRepository.sumQuantityByProductIds(anyCollection())).willReturn(List.of(total(1L, 6L)));
+        ranking.rebuild();
+
+        assertThat(ranking.top(5)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getTotalQuantity).containsExactly(6L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should discard a recount that raced a write and count the product again on the next read")
+    void top_WriteDuringRecount_RecountsAgain() {
+        given(itemRepository.sumQuantityByProduct()).willReturn(List.of(total(1L, 5L)));
+        ProductQuantityRanking ranking = new ProductQuantityRanking(itemRepository);
+        ranking.rebuild();
+        ranking.invalidate(1L);
+        given(itemRepository.sumQuantityByProductIds(anyCollection()))
+                .willAnswer(invocation -> {
+                    ranking.invalidate(1L);
+                    return List.of(total(1L, 7L));
+                })
+                .willReturn(List.of(total(1L, 8L)));
+
+        assertThat(ranking.top(5)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getTotalQuantity).containsExactly(5L));
+        assertThat(ranking.top(5)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getTotalQuantity).containsExactly(8L));
+        verify(itemRepository, times(2)).sumQuantityByProductIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should drop a changed product whose recount finds no items")
+    void invalidate_NoItemsLeft_DropsProduct() {
+        given(itemRepository.sumQuantityByProduct()).willReturn(List.of(total(1L, 5L), total(2L, 9L)));
+        ProductQuantityRanking ranking = new ProductQuantityRanking(itemRepository);
+        ranking.rebuild();
+
+        ranking.invalidate(2L);
+        given(itemRepository.sumQuantityByProductIds(anyCollection())).willReturn(List.of());
+
+        assertThat(ranking.top(10)).hasValueSatisfying(top ->
+                assertThat(top).extracting(ProductQuantityTotal::getProductId).containsExactly(1L));
+    }
+
+    private static ProductQuantityTotal total(Long productId, long quantity) {
+        return new ProductQuantityTotal() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public long getTotalQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
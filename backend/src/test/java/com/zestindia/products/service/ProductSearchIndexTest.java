@@ -0,0 +1,81 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.entity.Product;
+import com.zestindia.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        given(productRepository.findSearchDocumentsAfter(anyLong(), any())).willReturn(List.of());
+        index = new ProductSearchIndex(productRepository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match substrings of name or creator case-insensitively")
+    void search_Substring_MatchesNameOrCreator() {
+        index.put(product(1L, "Wireless Keyboard", "alice"));
+        index.put(product(2L, "Wired Mouse", "bob"));
+        index.put(product(3L, "Monitor", "Keyboard Team"));
+
+        assertThat(index.search("KEYBOARD")).contains(List.of(1L, 3L));
+        assertThat(index.search("wire")).contains(List.of(1L, 2L));
+        assertThat(index.search("bob")).contains(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should not return candidates whose trigrams only match across fields")
+    void search_TrigramsSplitAcrossFields_NoMatch() {
+        index.put(product(1L, "abcx", "xdef"));
+
+        assertThat(index.search("abcdef")).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void search_AfterUpdateAndRemove_ReflectsChanges() {
+        index.put(product(1L, "Old Name", "alice"));
+        index.put(product(1L, "New Name", "alice"));
+        index.put(product(2L, "Other New", "bob"));
+
+        assertThat(index.search("old")).contains(List.of());
+        assertThat(index.search("new")).contains(List.of(1L, 2L));
+
+        index.remove(2L);
+
+        assertThat(index.search("new")).contains(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should defer to the database for terms shorter than a trigram")
+    void search_ShortTerm_ReturnsEmpty() {
+        index.put(product(1L, "ab", "cd"));
+
+        assertThat(index.search("ab")).isEmpty();
+    }
+
+    private Product product(Long id, String name, String createdBy) {
+        return Product.builder().id(id).productName(name).createdBy(createdBy).build();
+    }
+}
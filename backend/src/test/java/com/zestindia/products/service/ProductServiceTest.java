@@ -1,8 +1,22 @@
 package com.zestindia.products.service;
 
+import com.zestindia.products.dto.projection.ItemSummary;
+import com.zestindia.products.dto.projection.ProductItemCount;
+import com.zestindia.products.dto.projection.ProductQuantityTotal;
+import com.zestindia.products.dto.projection.ProductSummary;
+import com.zestindia.products.dto.request.ItemRequest;
 import com.zestindia.products.dto.request.ProductRequest;
+import com.zestindia.products.dto.response.BatchItemResponse;
+import com.zestindia.products.dto.response.CursorPageResponse;
+import com.zestindia.products.dto.response.ItemResponse;
+import com.zestindia.products.dto.response.ProductChangeEvent;
+import com.zestindia.products.dto.response.ProductDeletionStatus;
+import com.zestindia.products.dto.response.ProductQuantityResponse;
 import com.zestindia.products.dto.response.ProductResponse;
+import com.zestindia.products.entity.Item;
 import com.zestindia.products.entity.Product;
+import com.zestindia.products.exception.BadRequestException;
+import com.zestindia.products.exception.ConflictException;
 import com.zestindia.products.exception.ResourceNotFoundException;
 import com.zestindia.products.repository.ItemRepository;
 import com.zestindia.products.repository.ProductRepository;
@@ -12,19 +26,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +62,21 @@ class ProductServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductQuantityRanking productQuantityRanking;
+
+    @Mock
+    private ProductDeletionService productDeletionService;
+
+    @Mock
+    private ProductChangeFeed productChangeFeed;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(Duration.ofMinutes(5), 100L);
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -57,21 +96,22 @@ class ProductServiceTest {
     @DisplayName("Should return paginated products when no search term")
     void getAllProducts_NoSearch_ReturnPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        given(productRepository.findAll(pageable)).willReturn(productPage);
+        Page<ProductSummary> productPage = new PageImpl<>(List.of(summary(product)));
+        given(productRepository.findSummaries(pageable)).willReturn(productPage);
 
         Page<ProductResponse> result = productService.getAllProducts(null, pageable);
 
         assertThat(result).isNotEmpty();
         assertThat(result.getContent().get(0).getProductName()).isEqualTo("Test Product");
-        verify(productRepository).findAll(pageable);
+        verify(productRepository).findSummaries(pageable);
+        verify(productRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should return searched products when search term provided")
     void getAllProducts_WithSearch_ReturnFilteredPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(List.of(product));
+        Page<ProductSummary> productPage = new PageImpl<>(List.of(summary(product)));
         given(productRepository.searchProducts("Test", pageable)).willReturn(productPage);
 
         Page<ProductResponse> result = productService.getAllProducts("Test", pageable);
@@ -80,6 +120,188 @@ class ProductServiceTest {
         verify(productRepository).searchProducts("Test", pageable);
     }
 
+    @Test
+    @DisplayName("Should answer search from the index and fetch only the requested page")
+    void getAllProducts_IndexedSearch_FetchesPageIds() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id").descending());
+        Product third = Product.builder().id(3L).productName("Test Three").build();
+        given(productSearchIndex.search("Test")).willReturn(Optional.of(List.of(1L, 2L, 3L)));
+        given(productRepository.findByIdIn(List.of(3L, 2L))).willReturn(List.of(summary(third)));
+
+        Page<ProductResponse> result = productService.getAllProducts("Test", pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting(ProductResponse::getId).containsExactly(3L);
+        verify(productRepository, never()).searchProducts(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should use the LIKE query when too many index matches would go into one IN-list")
+    void getAllProducts_ManyMatchesSortedByName_FallsBackToLikeQuery() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("productName"));
+        List<Long> ids = LongStream.rangeClosed(1, ProductServiceImpl.MAX_SEARCH_ID_LIST + 1).boxed().toList();
+        given(productSearchIndex.search("Test")).willReturn(Optional.of(ids));
+        given(productRepository.searchProducts("Test", pageable)).willReturn(new PageImpl<>(List.of(summary(product))));
+
+        productService.getAllProducts("Test", pageable);
+
+        verify(productRepository).searchProducts("Test", pageable);
+        verify(productRepository, never()).findByIdIn(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve item counts for a page with one grouped query")
+    void getAllProducts_ItemCounts_SingleGroupedQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Product other = Product.builder().id(2L).productName("Other").build();
+        given(productRepository.findSummaries(pageable)).willReturn(new PageImpl<>(List.of(summary(product), summary(other))));
+        given(itemRepository.countByProductIds(List.of(1L, 2L))).willReturn(List.of(itemCount(1L, 3L)));
+
+        Page<ProductResponse> result = productService.getAllProducts(null, pageable);
+
+        assertThat(result.getContent()).extracting(ProductResponse::getItemCount).containsExactly(3, 0);
+        verify(itemRepository).countByProductIds(List.of(1L, 2L));
+        verify(itemRepository, never()).countByProductId(any());
+    }
+
+    @Test
+    @DisplayName("Should return next cursor when more products follow the scrolled page")
+    void scrollProducts_FirstPage_ReturnsNextCursor() {
+        Product second = Product.builder().id(2L).productName("Second").build();
+        given(productRepository.findAllBy(any(Pageable.class))).willReturn(List.of(summary(product), summary(second)));
+
+        CursorPageResponse<ProductResponse> result = productService.scrollProducts(null, 1, "id", false);
+
+        assertThat(result.getContent()).extracting(ProductResponse::getId).containsExactly(1L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor position without an offset or count query")
+    void scrollProducts_WithCursor_SeeksAfterLastId() {
+        given(productRepository.findAllBy(any(Pageable.class))).willReturn(List.of(summary(product), summary(product)));
+        String cursor = productService.scrollProducts(null, 1, "id", false).getNextCursor();
+        given(productRepository.findNextById(eq(1L), any(Pageable.class))).willReturn(List.of());
+
+        CursorPageResponse<ProductResponse> result = productService.scrollProducts(cursor, 1, "id", false);
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void scrollProducts_InvalidCursor_ThrowException() {
+        assertThatThrownBy(() -> productService.scrollProducts("not-a-cursor", 10, "id", false))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject scroll sizes above the maximum without querying")
+    void scroll_SizeTooLarge_ThrowException() {
+        assertThatThrownBy(() -> productService.scrollProducts(null, Integer.MAX_VALUE, "id", false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> productService.scrollItems(1L, null, ProductServiceImpl.MAX_SCROLL_SIZE + 1))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(productRepository, itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should scroll items by id with size + 1 rows and no count or product query")
+    void scrollItems_SeeksByIdWithoutCount() {
+        ItemSummary first = itemSummary(10L, product, 1);
+        ItemSummary second = itemSummary(11L, product, 2);
+        given(itemRepository.findNextByProductId(1L, 0L, PageRequest.ofSize(2))).willReturn(List.of(first, second));
+
+        CursorPageResponse<ItemResponse> page = productService.scrollItems(1L, null, 1);
+
+        assertThat(page.getContent()).extracting(ItemResponse::getId).containsExactly(10L);
+        assertThat(page.isHasNext()).isTrue();
+
+        given(itemRepository.findNextByProductId(1L, 10L, PageRequest.ofSize(2))).willReturn(List.of(second));
+        CursorPageResponse<ItemResponse> next = productService.scrollItems(1L, page.getNextCursor(), 1);
+
+        assertThat(next.getContent()).extracting(ItemResponse::getProductName).containsExactly("Test Product");
+        assertThat(next.isHasNext()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+        verify(itemRepository, never()).findByProductId(any(), any(Pageable.class));
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should page items with the product name from the join, without loading the product")
+    void getItemsByProductId_NameFromJoin() {
+        Pageable pageable = PageRequest.of(0, 10);
+        given(itemRepository.findByProductId(1L, pageable))
+                .willReturn(new PageImpl<>(List.of(itemSummary(10L, product, 4)), pageable, 1));
+
+        Page<ItemResponse> result = productService.getItemsByProductId(1L, pageable);
+
+        assertThat(result.getContent()).singleElement().satisfies(item -> {
+            assertThat(item.getProductName()).isEqualTo("Test Product");
+            assertThat(item.getQuantity()).isEqualTo(4);
+        });
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for the items of an unknown product")
+    void getItemsByProductId_UnknownProduct_ThrowException() {
+        Pageable pageable = PageRequest.of(0, 10);
+        given(itemRepository.findByProductId(99L, pageable)).willReturn(Page.empty(pageable));
+        given(productRepository.existsById(99L)).willReturn(false);
+
+        assertThatThrownBy(() -> productService.getItemsByProductId(99L, pageable))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should not share an item page load that was in flight when the items were evicted")
+    void getItemsByProductId_EvictedDuringLoad_LoadsAgain() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        given(itemRepository.findByProductId(1L, pageable)).willAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return new PageImpl<>(List.of(itemSummary(10L, product, 4)), pageable, 1);
+            }
+            return new PageImpl<>(List.of(itemSummary(10L, product, 9)), pageable, 1);
+        });
+        CompletableFuture<Page<ItemResponse>> stale =
+                CompletableFuture.supplyAsync(() -> productService.getItemsByProductId(1L, pageable));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        productCache.evictItems(1L);
+        Page<ItemResponse> fresh = CompletableFuture.supplyAsync(() -> productService.getItemsByProductId(1L, pageable))
+                .get(5, TimeUnit.SECONDS);
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+
+        assertThat(fresh.getContent()).singleElement().extracting(ItemResponse::getQuantity).isEqualTo(9);
+        assertThat(productService.getItemsByProductId(1L, pageable).getContent())
+                .singleElement().extracting(ItemResponse::getQuantity).isEqualTo(9);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject an item cursor issued for another product")
+    void scrollItems_CursorOfOtherProduct_ThrowsBadRequest() {
+        Product other = Product.builder().id(2L).productName("Other").build();
+        given(itemRepository.findNextByProductId(2L, 0L, PageRequest.ofSize(2))).willReturn(List.of(
+                itemSummary(20L, other, 1), itemSummary(21L, other, 1)));
+        String cursor = productService.scrollItems(2L, null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> productService.scrollItems(1L, cursor, 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     @DisplayName("Should return product by ID when exists")
     void getProductById_Exists_ReturnProduct() {
@@ -91,6 +313,182 @@ class ProductServiceTest {
         assertThat(result.getProductName()).isEqualTo("Test Product");
     }
 
+    @Test
+    @DisplayName("Should count items without loading the items collection")
+    void getProductById_ItemCount_FromCountQuery() {
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(itemRepository.countByProductId(1L)).willReturn(42L);
+
+        ProductResponse result = productService.getProductById(1L);
+
+        assertThat(result.getItemCount()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat lookups of a product from the cache")
+    void getProductById_Repeated_ServedFromCache() {
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+
+        productService.getProductById(1L);
+        ProductResponse result = productService.getProductById(1L);
+
+        assertThat(result.getProductName()).isEqualTo("Test Product");
+        verify(productRepository, times(1)).findById(1L);
+        verify(itemRepository, times(1)).countByProductId(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached product when it is updated")
+    void updateProduct_Cached_EvictsEntry() {
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(productRepository.saveAndFlush(any(Product.class))).willAnswer(invocation -> invocation.getArgument(0));
+        productService.getProductById(1L);
+        ProductRequest request = new ProductRequest();
+        request.setProductName("Renamed Product");
+
+        productService.updateProduct(1L, request, null);
+        ProductResponse result = productService.getProductById(1L);
+
+        assertThat(result.getProductName()).isEqualTo("Renamed Product");
+        verify(productCache).evictProduct(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached item count and first item page when an item is added")
+    void addItemToProduct_Cached_EvictsProduct() {
+        Pageable pageable = PageRequest.of(0, 10);
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(productRepository.existsById(1L)).willReturn(true);
+        given(itemRepository.findByProductId(1L, pageable)).willReturn(Page.empty(pageable));
+        given(itemRepository.save(any(Item.class))).willAnswer(invocation -> invocation.getArgument(0));
+        productService.getItemsByProductId(1L, pageable);
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(2);
+
+        productService.addItemToProduct(1L, request);
+        productService.getItemsByProductId(1L, pageable);
+
+        verify(productCache).evictProduct(1L);
+        verify(itemRepository, times(2)).findByProductId(1L, pageable);
+    }
+
+    @Test
+    @DisplayName("Should answer top products from the ranking and attach names")
+    void getTopProducts_FromRanking() {
+        ProductQuantityTotal top = quantityTotal(1L, 12L);
+        given(productQuantityRanking.top(5)).willReturn(Optional.of(List.of(top)));
+        given(productRepository.findAllById(List.of(1L))).willReturn(List.of(product));
+
+        List<ProductQuantityResponse> result = productService.getTopProducts("quantity", 5);
+
+        assertThat(result).singleElement().satisfies(response -> {
+            assertThat(response.getProductName()).isEqualTo("Test Product");
+            assertThat(response.getTotalQuantity()).isEqualTo(12L);
+        });
+        verify(itemRepository, never()).findTopQuantityTotals(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the grouped query while the ranking is building")
+    void getTopProducts_RankingNotReady_QueriesDatabase() {
+        given(productQuantityRanking.top(5)).willReturn(Optional.empty());
+        given(itemRepository.findTopQuantityTotals(PageRequest.ofSize(5))).willReturn(List.of(quantityTotal(1L, 3L)));
+        given(productRepository.findAllById(List.of(1L))).willReturn(List.of(product));
+
+        assertThat(productService.getTopProducts("quantity", 5)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported rankings and out-of-range sizes")
+    void getTopProducts_InvalidArguments_ThrowBadRequest() {
+        assertThatThrownBy(() -> productService.getTopProducts("price", 5)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> productService.getTopProducts("quantity", 0)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> productService.getTopProducts("quantity", 101)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should update an item with one conditional statement when the client sends its version")
+    void updateItem_ExpectedVersion_SingleConditionalUpdate() {
+        given(itemRepository.updateQuantity(5L, 1L, 10, 3L)).willReturn(1);
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(10);
+
+        ItemResponse result = productService.updateItem(1L, 5L, request, 3L);
+
+        assertThat(result.getVersion()).isEqualTo(4L);
+        assertThat(result.getQuantity()).isEqualTo(10);
+        assertThat(result.getProductName()).isNull();
+        verify(itemRepository).updateQuantity(5L, 1L, 10, 3L);
+        verifyNoMoreInteractions(itemRepository);
+        verifyNoInteractions(productRepository);
+        verify(productQuantityRanking).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Should take the product name of an updated item from the product cache")
+    void updateItem_CachedProduct_UsesCachedName() {
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        productService.getProductById(1L);
+        given(itemRepository.updateQuantity(5L, 1L, 10, 3L)).willReturn(1);
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(10);
+
+        assertThat(productService.updateItem(1L, 5L, request, 3L).getProductName()).isEqualTo("Test Product");
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should read the current version when no version is sent")
+    void updateItem_NoExpectedVersion_UsesCurrentVersion() {
+        given(itemRepository.findVersion(5L, 1L)).willReturn(Optional.of(7L));
+        given(itemRepository.updateQuantity(5L, 1L, 10, 7L)).willReturn(1);
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(10);
+
+        assertThat(productService.updateItem(1L, 5L, request, null).getVersion()).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the item has moved past the expected version")
+    void updateItem_StaleVersion_ThrowsConflict() {
+        given(itemRepository.updateQuantity(5L, 1L, 10, 3L)).willReturn(0);
+        given(itemRepository.findVersion(5L, 1L)).willReturn(Optional.of(4L));
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(10);
+
+        assertThatThrownBy(() -> productService.updateItem(1L, 5L, request, 3L))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("version 3");
+        verify(productQuantityRanking, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("Should report an item of another product as not found")
+    void updateItem_ItemOfOtherProduct_ThrowsNotFound() {
+        given(itemRepository.updateQuantity(5L, 1L, 10, 3L)).willReturn(0);
+        given(itemRepository.findVersion(5L, 1L)).willReturn(Optional.empty());
+        given(productRepository.existsById(1L)).willReturn(true);
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(10);
+
+        assertThatThrownBy(() -> productService.updateItem(1L, 5L, request, 3L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Item");
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the product is not at the expected version")
+    void updateProduct_StaleVersion_ThrowsConflict() {
+        product.setVersion(2L);
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        ProductRequest request = new ProductRequest();
+        request.setProductName("Renamed Product");
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, request, 1L))
+                .isInstanceOf(ConflictException.class);
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when product not found")
     void getProductById_NotFound_ThrowException() {
@@ -113,6 +511,7 @@ class ProductServiceTest {
 
         assertThat(result).isNotNull();
         verify(productRepository).save(any(Product.class));
+        verify(productChangeFeed).publish(ProductChangeEvent.Type.PRODUCT_CREATED, 1L, null);
     }
 
     @Test
@@ -122,30 +521,192 @@ class ProductServiceTest {
         request.setProductName("Updated Name");
 
         given(productRepository.findById(1L)).willReturn(Optional.of(product));
-        given(productRepository.save(any(Product.class))).willReturn(product);
+        given(productRepository.saveAndFlush(any(Product.class))).willReturn(product);
 
-        ProductResponse result = productService.updateProduct(1L, request);
+        ProductResponse result = productService.updateProduct(1L, request, null);
 
         assertThat(result).isNotNull();
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
     }
 
     @Test
-    @DisplayName("Should delete product when exists")
-    void deleteProduct_Exists_DeleteSuccessfully() {
-        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+    @DisplayName("Should insert batch items with JDBC batches instead of entity saves")
+    void addItemsToProduct_LargeBatch_InsertsWithJdbc() {
+        ItemRequest request = new ItemRequest();
+        request.setQuantity(2);
+        List<Integer> quantities = Collections.nCopies(1200, 2);
+        given(productRepository.existsById(1L)).willReturn(true);
+        given(itemRepository.insertAll(1L, quantities)).willReturn(1200);
+
+        BatchItemResponse result = productService.addItemsToProduct(1L, Collections.nCopies(1200, request));
+
+        assertThat(result.getCreatedCount()).isEqualTo(1200);
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(productQuantityRanking).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Should delete an item of the product and update its cache, ranking and feed")
+    void deleteItem_OwnItem_DeletesAndEvictsProduct() {
+        Item item = Item.builder().id(5L).product(product).quantity(4).build();
+        given(itemRepository.findById(5L)).willReturn(Optional.of(item));
 
-        productService.deleteProduct(1L);
+        productService.deleteItem(1L, 5L);
 
-        verify(productRepository).delete(product);
+        verify(itemRepository).delete(item);
+        verify(productCache).evictProduct(1L);
+        verify(productQuantityRanking).invalidate(1L);
+        verify(productChangeFeed).publish(ProductChangeEvent.Type.ITEM_DELETED, 1L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should report an item of another product as not found and leave it in place")
+    void deleteItem_ItemOfOtherProduct_ThrowsNotFound() {
+        Product other = Product.builder().id(2L).productName("Other Product").build();
+        given(itemRepository.findById(5L)).willReturn(Optional.of(Item.builder().id(5L).product(other).quantity(4).build()));
+        given(productRepository.existsById(1L)).willReturn(true);
+
+        assertThatThrownBy(() -> productService.deleteItem(1L, 5L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Item");
+        verify(itemRepository, never()).delete(any(Item.class));
+        verify(productCache, never()).evictProduct(any());
+        verify(productQuantityRanking, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("Should delete product and its items with bulk statements when exists")
+    void deleteProduct_Exists_DeleteSuccessfully() {
+        given(productRepository.existsById(1L)).willReturn(true);
+        given(itemRepository.countByProductId(1L)).willReturn(3L);
+        given(itemRepository.deleteByProductId(1L)).willReturn(3);
+
+        ProductDeletionStatus result = productService.deleteProduct(1L);
+
+        assertThat(result.getState()).isEqualTo(ProductDeletionStatus.State.COMPLETED);
+        assertThat(result.getDeletedItems()).isEqualTo(3L);
+        verify(productRepository).deleteRowById(1L);
+        verify(productRepository, never()).delete(any(Product.class));
+        verify(productQuantityRanking).invalidate(1L);
+        verify(productChangeFeed).publish(ProductChangeEvent.Type.PRODUCT_DELETED, 1L, null);
+    }
+
+    @Test
+    @DisplayName("Should hand products with more items than the threshold to a background job")
+    void deleteProduct_ManyItems_SubmitsJob() {
+        ProductDeletionStatus pending = ProductDeletionStatus.builder()
+                .jobId("job-1").productId(1L).state(ProductDeletionStatus.State.PENDING).build();
+        given(productRepository.existsById(1L)).willReturn(true);
+        given(itemRepository.countByProductId(1L)).willReturn(10_001L);
+        given(productDeletionService.submit(eq(1L), eq(10_001L), any())).willReturn(pending);
+
+        assertThat(productService.deleteProduct(1L).getJobId()).isEqualTo("job-1");
+        verify(itemRepository, never()).deleteByProductId(any());
+        verify(productRepository, never()).deleteRowById(any());
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException on delete when not found")
     void deleteProduct_NotFound_ThrowException() {
-        given(productRepository.findById(99L)).willReturn(Optional.empty());
+        given(productRepository.existsById(99L)).willReturn(false);
 
         assertThatThrownBy(() -> productService.deleteProduct(99L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    private ProductSummary summary(Product source) {
+        return new ProductSummary() {
+            @Override
+            public Long getId() {
+                return source.getId();
+            }
+
+            @Override
+            public String getProductName() {
+                return source.getProductName();
+            }
+
+            @Override
+            public String getCreatedBy() {
+                return source.getCreatedBy();
+            }
+
+            @Override
+            public LocalDateTime getCreatedOn() {
+                return source.getCreatedOn();
+            }
+
+            @Override
+            public String getModifiedBy() {
+                return source.getModifiedBy();
+            }
+
+            @Override
+            public LocalDateTime getModifiedOn() {
+                return source.getModifiedOn();
+            }
+
+            @Override
+            public Long getVersion() {
+                return source.getVersion();
+            }
+        };
+    }
+
+    private ItemSummary itemSummary(Long id, Product owner, int quantity) {
+        return new ItemSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getProductId() {
+                return owner.getId();
+            }
+
+            @Override
+            public String getProductName() {
+                return owner.getProductName();
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+        };
+    }
+
+    private ProductItemCount itemCount(Long productId, long count) {
+        return new ProductItemCount() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public long getItemCount() {
+                return count;
+            }
+        };
+    }
+
+    private ProductQuantityTotal quantityTotal(Long productId, long quantity) {
+        return new ProductQuantityTotal() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public long getTotalQuantity() {
+                return quantity;
+            }
+        };
+    }
 }
@@ -0,0 +1,72 @@
+package com.zestindia.products.service;
+
+import com.zestindia.products.entity.RefreshToken;
+import com.zestindia.products.entity.User;
+import com.zestindia.products.repository.RefreshTokenRepository;
+import com.zestindia.products.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenDurationMs", 60_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "purgeBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should rotate the token with a single upsert and no lookups")
+    void createRefreshToken_UpsertsByUser() {
+        User user = User.builder().id(7L).username("alice").build();
+
+        RefreshToken token = refreshTokenService.createRefreshToken(user);
+
+        assertThat(token.getToken()).isNotBlank();
+        assertThat(token.getExpiryDate()).isAfter(Instant.now());
+        verify(refreshTokenRepository).upsertForUser(eq(7L), eq(token.getToken()), eq(token.getExpiryDate()));
+        verify(refreshTokenRepository, never()).findByUser(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should purge expired tokens in bounded batches until a short batch")
+    void purgeExpiredTokens_DeletesInBatches() {
+        given(refreshTokenRepository.findExpiredIds(any(Instant.class), eq(PageRequest.ofSize(2))))
+                .willReturn(List.of(1L, 2L), List.of(3L));
+
+        refreshTokenService.purgeExpiredTokens();
+
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+}